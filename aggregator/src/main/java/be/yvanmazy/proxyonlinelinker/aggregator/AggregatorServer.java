@@ -0,0 +1,346 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.aggregator;
+
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+
+public class AggregatorServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatorServer.class);
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final String secret;
+    private final SecureRandom random = new SecureRandom();
+
+    // Each count belongs to the connection that sent it and is removed when this connection is closed
+    private final Map<String, Connection> owners = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Set<Connection> subscribers = new HashSet<>();
+    private long total;
+    private long sentTotal = -1L;
+    private long nextHeartbeat;
+
+    private volatile boolean running = true;
+
+    public AggregatorServer(final @NotNull InetSocketAddress address, final @Nullable String secret) throws IOException {
+        Objects.requireNonNull(address, "address must not be null");
+        this.secret = secret;
+        if ((secret == null || secret.isEmpty()) && !address.isUnresolved() && !address.getAddress().isLoopbackAddress()) {
+            LOGGER.warn("Aggregator bound to {} without secret, any host reaching it can send counts", address);
+        }
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            this.serverChannel.bind(address);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (final IOException exception) {
+            this.serverChannel.close();
+            this.selector.close();
+            throw exception;
+        }
+    }
+
+    public void run() {
+        try {
+            while (this.running) {
+                this.selector.select(AggregatorProtocol.HEARTBEAT_INTERVAL);
+                final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    final SelectionKey key = iterator.next();
+                    iterator.remove();
+                    this.handle(key);
+                }
+                final long now = System.currentTimeMillis();
+                if (now >= this.nextHeartbeat) {
+                    this.nextHeartbeat = now + AggregatorProtocol.HEARTBEAT_INTERVAL;
+                    this.sentTotal = this.total;
+                    this.heartbeat(now);
+                } else if (this.total != this.sentTotal) {
+                    // Changes received in the same round are pushed once
+                    this.sentTotal = this.total;
+                    this.pushTotal();
+                }
+            }
+        } catch (final IOException | ClosedSelectorException exception) {
+            if (this.running) {
+                LOGGER.error("Aggregator stopped unexpectedly", exception);
+            }
+        } finally {
+            this.closeAll();
+        }
+    }
+
+    private void pushTotal() {
+        // Failed subscribers are closed after the loop, closing them removes them from the set
+        List<Connection> failed = null;
+        for (final Connection subscriber : this.subscribers) {
+            try {
+                subscriber.sendTotal();
+            } catch (final IOException exception) {
+                LOGGER.debug("Closed connection {}", subscriber.channel, exception);
+                if (failed == null) {
+                    failed = new ArrayList<>();
+                }
+                failed.add(subscriber);
+            }
+        }
+        if (failed != null) {
+            failed.forEach(this::close);
+        }
+    }
+
+    // The total is sent to every client, connections that did not send anything for the idle timeout are closed
+    private void heartbeat(final long now) {
+        final List<Connection> failed = new ArrayList<>();
+        for (final SelectionKey key : this.selector.keys()) {
+            if (!(key.attachment() instanceof final Connection connection) || !key.isValid()) {
+                continue;
+            }
+            if (now - connection.lastRead >= AggregatorProtocol.IDLE_TIMEOUT) {
+                LOGGER.debug("Closed idle connection {}", connection.channel);
+                failed.add(connection);
+                continue;
+            }
+            if (connection.role == -1) {
+                continue;
+            }
+            try {
+                connection.sendTotal();
+            } catch (final IOException exception) {
+                LOGGER.debug("Closed connection {}", connection.channel, exception);
+                failed.add(connection);
+            }
+        }
+        failed.forEach(this::close);
+    }
+
+    public void stop() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    private void handle(final SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            this.accept();
+            return;
+        }
+
+        final Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable()) {
+                connection.flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+        } catch (final IOException exception) {
+            LOGGER.debug("Closed connection {}", connection.channel, exception);
+            this.close(connection);
+        }
+    }
+
+    private void accept() {
+        final SocketChannel channel;
+        try {
+            channel = this.serverChannel.accept();
+        } catch (final IOException exception) {
+            // Failing to accept a single connection must not stop the aggregator
+            LOGGER.warn("Failed to accept a connection", exception);
+            return;
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().setKeepAlive(true);
+            final Connection connection = new Connection(channel);
+            connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+            // Nothing is accepted before the hello packet answering this challenge
+            this.random.nextBytes(connection.challenge);
+            connection.writing = AggregatorProtocol.challenge(connection.challenge);
+            connection.flush();
+        } catch (final IOException exception) {
+            LOGGER.warn("Failed to set up connection {}", channel, exception);
+            try {
+                channel.close();
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    private void handlePacket(final Connection connection, final ByteBuffer payload) throws IOException {
+        final int packetId = VarInt.read(payload);
+        if (packetId == AggregatorProtocol.HELLO && connection.role == -1) {
+            final int version = VarInt.read(payload);
+            if (version != AggregatorProtocol.VERSION) {
+                throw new IOException("Unsupported protocol version: " + version);
+            }
+            final int role = VarInt.read(payload);
+            final byte[] expected = AggregatorProtocol.signature(this.secret, connection.challenge, role);
+            if (!MessageDigest.isEqual(expected, AggregatorProtocol.readSignature(payload))) {
+                throw new IOException("Invalid hello signature");
+            }
+            connection.role = role;
+            if (connection.role == AggregatorProtocol.ROLE_SUBSCRIBER) {
+                this.subscribers.add(connection);
+                connection.sendTotal();
+            }
+        } else if (packetId == AggregatorProtocol.PING && connection.role != -1) {
+            // Only refreshes the idle timeout
+        } else if (packetId == AggregatorProtocol.COUNT && connection.role == AggregatorProtocol.ROLE_PUBLISHER) {
+            final String serverId = AggregatorProtocol.readString(payload);
+            final int online = VarInt.read(payload) - 1;
+            if (online < 0) {
+                if (this.owners.get(serverId) == connection) {
+                    this.remove(serverId);
+                    connection.servers.remove(serverId);
+                }
+                return;
+            }
+            final Connection previousOwner = this.owners.put(serverId, connection);
+            if (previousOwner != null && previousOwner != connection) {
+                previousOwner.servers.remove(serverId);
+            }
+            connection.servers.add(serverId);
+            final Integer previous = this.counts.put(serverId, online);
+            this.total += online - (previous != null ? previous : 0);
+        } else {
+            throw new IOException("Unexpected packet " + packetId + " for role " + connection.role);
+        }
+    }
+
+    private void remove(final String serverId) {
+        this.owners.remove(serverId);
+        final Integer previous = this.counts.remove(serverId);
+        if (previous != null) {
+            this.total -= previous;
+        }
+    }
+
+    private void close(final Connection connection) {
+        this.subscribers.remove(connection);
+        for (final String serverId : connection.servers) {
+            if (this.owners.get(serverId) == connection) {
+                this.remove(serverId);
+            }
+        }
+        connection.servers.clear();
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private void closeAll() {
+        for (final SelectionKey key : this.selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (final IOException ignored) {
+            }
+        }
+        try {
+            this.selector.close();
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(AggregatorProtocol.MAX_FRAME_SIZE + VarInt.MAX_SIZE);
+        private final Set<String> servers = new HashSet<>();
+        private final byte[] challenge = new byte[AggregatorProtocol.CHALLENGE_LENGTH];
+        private SelectionKey key;
+        private int role = -1;
+        private long lastRead = System.currentTimeMillis();
+
+        // Only the latest total matters, a slow subscriber gets it once the previous one is written
+        private ByteBuffer writing;
+        private boolean totalPending;
+
+        private Connection(final SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void read() throws IOException {
+            if (this.channel.read(this.readBuffer) < 0) {
+                throw new ClosedChannelException();
+            }
+            this.lastRead = System.currentTimeMillis();
+            this.readBuffer.flip();
+            ByteBuffer payload;
+            while ((payload = AggregatorProtocol.readFrame(this.readBuffer)) != null) {
+                AggregatorServer.this.handlePacket(this, payload);
+            }
+            this.readBuffer.compact();
+        }
+
+        private void sendTotal() throws IOException {
+            if (this.writing != null) {
+                this.totalPending = true;
+                return;
+            }
+            this.writing = AggregatorProtocol.total((int) Math.min(AggregatorServer.this.total, Integer.MAX_VALUE));
+            this.flush();
+        }
+
+        private void flush() throws IOException {
+            this.channel.write(this.writing);
+            if (this.writing.hasRemaining()) {
+                this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            this.writing = null;
+            this.key.interestOps(SelectionKey.OP_READ);
+            if (this.totalPending) {
+                this.totalPending = false;
+                this.sendTotal();
+            }
+        }
+
+    }
+
+}
\ No newline at end of file
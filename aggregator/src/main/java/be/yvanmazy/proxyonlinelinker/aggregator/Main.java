@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.aggregator;
+
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+public final class Main {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private Main() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a main class");
+    }
+
+    // Usage: java -jar ProxyOnlineLinker-aggregator.jar [host] [port]
+    // The shared secret of the clients is read from the PROXYONLINELINKER_AGGREGATOR_SECRET environment variable
+    public static void main(final String[] args) throws IOException {
+        final String host = args.length > 0 ? args[0] : "127.0.0.1";
+        final int port = args.length > 1 ? Integer.parseInt(args[1]) : AggregatorProtocol.DEFAULT_PORT;
+        final String secret = System.getenv("PROXYONLINELINKER_AGGREGATOR_SECRET");
+
+        final AggregatorServer server = new AggregatorServer(new InetSocketAddress(host, port), secret);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "ProxyOnlineLinker Aggregator Shutdown"));
+        LOGGER.info("Aggregator listening on {}:{}", host, port);
+        server.run();
+    }
+
+}
\ No newline at end of file
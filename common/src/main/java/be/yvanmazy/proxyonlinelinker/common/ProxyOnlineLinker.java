@@ -28,6 +28,11 @@ import be.yvanmazy.proxyonlinelinker.common.broadcasting.BroadcastingManager;
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.DefaultBroadcastingManager;
 import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
 import be.yvanmazy.proxyonlinelinker.common.config.ConfigurationReader;
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
+import be.yvanmazy.proxyonlinelinker.common.metrics.exporter.MetricsExporter;
+import be.yvanmazy.proxyonlinelinker.common.ping.PingEngine;
+import be.yvanmazy.proxyonlinelinker.common.query.QueryEngine;
+import be.yvanmazy.proxyonlinelinker.common.redis.BoundedAsyncJedisProvider;
 import be.yvanmazy.proxyonlinelinker.common.redis.DefaultJedisProvider;
 import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
 import be.yvanmazy.proxyonlinelinker.common.status.DefaultOnlineManager;
@@ -41,6 +46,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.function.BiConsumer;
@@ -53,9 +59,12 @@ public class ProxyOnlineLinker {
     private final String implementationName;
     private final IntSupplier onlineSupplier;
     private final BiConsumer<OnlineManager, ReplacementStrategy> replacementConsumer;
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
     private Configuration configuration;
 
     private JedisProvider jedisProvider;
+    private PingEngine pingEngine;
+    private QueryEngine queryEngine;
 
     private BroadcastingManager broadcastingManager;
     private OnlineManager onlineManager;
@@ -77,11 +86,20 @@ public class ProxyOnlineLinker {
         }
 
         if (this.configuration.needRedis()) {
-            this.jedisProvider = new DefaultJedisProvider(this.configuration.redis());
+            final Configuration.Redis redis = this.configuration.redis();
+            final JedisProvider jedisProvider = new DefaultJedisProvider(redis);
+            final Configuration.Redis.AsyncExecution asyncExecution = redis.asyncExecution();
+            this.jedisProvider = asyncExecution.enabled() ?
+                    new BoundedAsyncJedisProvider(jedisProvider, asyncExecution.maxInFlight(), asyncExecution.commandTimeout()) :
+                    jedisProvider;
         }
 
         this.configuration.init(this);
 
+        if (this.configuration.metrics().enabled()) {
+            this.initMetrics();
+        }
+
         if (this.configuration.broadcasting().enabled()) {
             this.initBroadcasting();
         }
@@ -101,15 +119,40 @@ public class ProxyOnlineLinker {
         if (this.jedisProvider != null) {
             this.jedisProvider.stop();
         }
+        if (this.configuration != null && this.configuration.metrics().enabled()) {
+            for (final MetricsExporter exporter : this.configuration.metrics().exporters()) {
+                exporter.stop();
+            }
+        }
+        synchronized (this) {
+            if (this.pingEngine != null) {
+                this.pingEngine.stop();
+                this.pingEngine = null;
+            }
+            if (this.queryEngine != null) {
+                this.queryEngine.stop();
+                this.queryEngine = null;
+            }
+        }
+    }
+
+    private void initMetrics() {
+        for (final MetricsExporter exporter : this.configuration.metrics().exporters()) {
+            try {
+                exporter.start(this.metricsRegistry);
+            } catch (final Exception exception) {
+                LOGGER.error("Failed to start metrics exporter: {}", exporter.type(), exception);
+            }
+        }
     }
 
     private void initBroadcasting() {
-        this.broadcastingManager = new DefaultBroadcastingManager(this.onlineSupplier);
+        this.broadcastingManager = new DefaultBroadcastingManager(this.onlineSupplier, this.metricsRegistry);
         this.broadcastingManager.start(this.configuration.broadcasting());
     }
 
     private void initStatusHandling() {
-        this.onlineManager = new DefaultOnlineManager();
+        this.onlineManager = new DefaultOnlineManager(this.metricsRegistry);
         this.onlineManager.start(this.configuration);
 
         final Configuration.Status.Replacement replacement = this.configuration.status().replacement();
@@ -136,6 +179,33 @@ public class ProxyOnlineLinker {
         return this.jedisProvider;
     }
 
+    public synchronized @NotNull PingEngine getPingEngine() {
+        if (this.pingEngine == null) {
+            try {
+                this.pingEngine = new PingEngine();
+            } catch (final IOException exception) {
+                throw new UncheckedIOException("Failed to start ping engine", exception);
+            }
+        }
+        return this.pingEngine;
+    }
+
+    public synchronized @NotNull QueryEngine getQueryEngine() {
+        if (this.queryEngine == null) {
+            try {
+                this.queryEngine = new QueryEngine();
+            } catch (final IOException exception) {
+                throw new UncheckedIOException("Failed to start query engine", exception);
+            }
+        }
+        return this.queryEngine;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MetricsRegistry getMetricsRegistry() {
+        return this.metricsRegistry;
+    }
+
     @Contract(pure = true)
     public @NotNull IntSupplier getOnlineSupplier() {
         return this.onlineSupplier;
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.aggregator;
+
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+// Frames are a VarInt length followed by a VarInt packet id and the fields of the packet
+public final class AggregatorProtocol {
+
+    public static final int VERSION = 2;
+    public static final int DEFAULT_PORT = 25590;
+    public static final int MAX_FRAME_SIZE = 1024;
+    public static final int CHALLENGE_LENGTH = 16;
+    // Each side sends a frame at least every heartbeat interval, a connection without any frame for the idle timeout is dead
+    public static final int HEARTBEAT_INTERVAL = 5000;
+    public static final int IDLE_TIMEOUT = 15000;
+
+    // Client to aggregator: VarInt version, VarInt role, Bytes signature (HMAC-SHA256 of the challenge and role, empty without secret)
+    public static final int HELLO = 0;
+    // Publisher to aggregator: String server-id, VarInt online + 1 (0 when the server left)
+    public static final int COUNT = 1;
+    // Aggregator to client: VarInt total, pushed to subscribers on each change and to every client as heartbeat
+    public static final int TOTAL = 2;
+    // Aggregator to client, first frame of each connection: random challenge bytes
+    public static final int CHALLENGE = 3;
+    // Subscriber to aggregator: no field, heartbeat
+    public static final int PING = 4;
+
+    public static final int ROLE_PUBLISHER = 0;
+    public static final int ROLE_SUBSCRIBER = 1;
+
+    public static final int REMOVED = -1;
+
+    private static final int MAX_STRING_LENGTH = 256;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private AggregatorProtocol() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    // Opens a connection to the aggregator and answers its challenge with the hello packet
+    public static @NotNull Socket connect(final @NotNull InetSocketAddress address,
+                                          final int timeout,
+                                          final int role,
+                                          final @Nullable String secret) throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            // Detects dead peers, the counts of a publisher are removed when its connection is closed
+            socket.setKeepAlive(true);
+            socket.connect(address, timeout);
+            socket.setSoTimeout(timeout);
+            final ByteBuffer payload = readFrame(new DataInputStream(socket.getInputStream()), new byte[MAX_FRAME_SIZE]);
+            if (VarInt.read(payload) != CHALLENGE || payload.remaining() != CHALLENGE_LENGTH) {
+                throw new IOException("Invalid challenge from aggregator");
+            }
+            final byte[] challenge = new byte[CHALLENGE_LENGTH];
+            payload.get(challenge);
+            write(socket.getOutputStream(), hello(role, signature(secret, challenge, role)));
+            socket.setSoTimeout(0);
+        } catch (final IOException exception) {
+            socket.close();
+            throw exception;
+        }
+        return socket;
+    }
+
+    public static void write(final @NotNull OutputStream out, final @NotNull ByteBuffer frame) throws IOException {
+        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        out.flush();
+    }
+
+    // Returns an empty signature when no secret is configured
+    public static byte @NotNull [] signature(final @Nullable String secret, final byte @NotNull [] challenge, final int role) {
+        if (secret == null || secret.isEmpty()) {
+            return new byte[0];
+        }
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+            mac.update(challenge);
+            mac.update((byte) role);
+            return mac.doFinal();
+        } catch (final GeneralSecurityException exception) {
+            throw new IllegalStateException("Failed to initialize " + MAC_ALGORITHM, exception);
+        }
+    }
+
+    @Contract(pure = true)
+    public static @NotNull ByteBuffer challenge(final byte @NotNull [] challenge) {
+        final ByteBuffer payload = ByteBuffer.allocate(VarInt.MAX_SIZE + challenge.length);
+        VarInt.write(payload, CHALLENGE);
+        payload.put(challenge);
+        return frame(payload);
+    }
+
+    @Contract(pure = true)
+    public static @NotNull ByteBuffer hello(final int role, final byte @NotNull [] signature) {
+        final ByteBuffer payload = ByteBuffer.allocate(VarInt.MAX_SIZE * 4 + signature.length);
+        VarInt.write(payload, HELLO);
+        VarInt.write(payload, VERSION);
+        VarInt.write(payload, role);
+        VarInt.write(payload, signature.length);
+        payload.put(signature);
+        return frame(payload);
+    }
+
+    @Contract(pure = true)
+    public static @NotNull ByteBuffer count(final @NotNull String serverId, final int online) {
+        final byte[] bytes = serverId.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("Server id is too long: " + serverId);
+        }
+        final ByteBuffer payload = ByteBuffer.allocate(VarInt.MAX_SIZE * 3 + bytes.length);
+        VarInt.write(payload, COUNT);
+        VarInt.write(payload, bytes.length);
+        payload.put(bytes);
+        VarInt.write(payload, Math.max(online, REMOVED) + 1);
+        return frame(payload);
+    }
+
+    @Contract(pure = true)
+    public static @NotNull ByteBuffer ping() {
+        final ByteBuffer payload = ByteBuffer.allocate(VarInt.MAX_SIZE);
+        VarInt.write(payload, PING);
+        return frame(payload);
+    }
+
+    @Contract(pure = true)
+    public static @NotNull ByteBuffer total(final int total) {
+        final ByteBuffer payload = ByteBuffer.allocate(VarInt.MAX_SIZE * 2);
+        VarInt.write(payload, TOTAL);
+        VarInt.write(payload, Math.max(total, 0));
+        return frame(payload);
+    }
+
+    private static ByteBuffer frame(final ByteBuffer payload) {
+        payload.flip();
+        final ByteBuffer frame = ByteBuffer.allocate(VarInt.size(payload.remaining()) + payload.remaining());
+        VarInt.write(frame, payload.remaining());
+        frame.put(payload);
+        return frame.flip();
+    }
+
+    // Returns the payload of the next complete frame and moves the buffer after it, or null if it is not fully received
+    public static @Nullable ByteBuffer readFrame(final @NotNull ByteBuffer buffer) throws IOException {
+        final int start = buffer.position();
+        final int length;
+        try {
+            length = VarInt.read(buffer);
+        } catch (final EOFException exception) {
+            buffer.position(start);
+            return null;
+        }
+        if (length <= 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        if (buffer.remaining() < length) {
+            buffer.position(start);
+            return null;
+        }
+        final ByteBuffer frame = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return frame;
+    }
+
+    // Blocks until the next frame is received, the payload is read in the given array
+    public static @NotNull ByteBuffer readFrame(final @NotNull DataInputStream in, final byte @NotNull [] frame) throws IOException {
+        final int length = VarInt.read(in);
+        if (length <= 0 || length > Math.min(frame.length, MAX_FRAME_SIZE)) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        in.readFully(frame, 0, length);
+        return ByteBuffer.wrap(frame, 0, length);
+    }
+
+    public static byte @NotNull [] readSignature(final @NotNull ByteBuffer buffer) throws IOException {
+        final int length = VarInt.read(buffer);
+        if (length < 0 || length > MAC_LENGTH || length > buffer.remaining()) {
+            throw new IOException("Invalid signature length: " + length);
+        }
+        final byte[] signature = new byte[length];
+        buffer.get(signature);
+        return signature;
+    }
+
+    public static @NotNull String readString(final @NotNull ByteBuffer buffer) throws IOException {
+        final int length = VarInt.read(buffer);
+        if (length < 0 || length > MAX_STRING_LENGTH || length > buffer.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
\ No newline at end of file
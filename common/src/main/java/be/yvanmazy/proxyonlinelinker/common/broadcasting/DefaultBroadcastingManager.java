@@ -25,30 +25,62 @@
 package be.yvanmazy.proxyonlinelinker.common.broadcasting;
 
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTarget;
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.PipelinedTarget;
 import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
+import be.yvanmazy.proxyonlinelinker.common.metrics.FetchMetrics;
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
+import be.yvanmazy.proxyonlinelinker.common.redis.AsyncJedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 
-import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
 import java.util.function.IntSupplier;
 
 public class DefaultBroadcastingManager implements BroadcastingManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultBroadcastingManager.class);
+    private static final byte SKIP = 0;
+    private static final byte WRITE = 1;
+    private static final byte REFRESH = 2;
 
     private final IntSupplier onlineSupplier;
+    private final MetricsRegistry metricsRegistry;
 
     private Configuration.Broadcasting config;
+    private FetchMetrics[] targetMetrics;
     private ScheduledExecutorService executorService;
 
     private int lastOnlineCount = -1;
 
-    public DefaultBroadcastingManager(final @NotNull IntSupplier onlineSupplier) {
+    // Action of each target for the current update
+    private byte[] actions;
+    // Indexes of the targets sharing a provider, each group is sent in a single pipeline
+    private final List<int[]> batches = new ArrayList<>();
+    private boolean[] batched;
+
+    // Only used in delta mode, per target so that a failed write is retried on the next update
+    private int[] lastWritten;
+    private long[] lastWriteTime;
+
+    // Targets with a write still running on an async provider are skipped until it completes
+    private boolean[] inFlight;
+    private boolean[] missed;
+
+    public DefaultBroadcastingManager(final @NotNull IntSupplier onlineSupplier, final @NotNull MetricsRegistry metricsRegistry) {
         this.onlineSupplier = Objects.requireNonNull(onlineSupplier, "onlineSupplier must not be null");
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "metricsRegistry must not be null");
+    }
+
+    public DefaultBroadcastingManager(final @NotNull IntSupplier onlineSupplier) {
+        this(onlineSupplier, new MetricsRegistry());
     }
 
     @Override
@@ -62,6 +94,22 @@ public class DefaultBroadcastingManager implements BroadcastingManager {
             LOGGER.warn("No broadcasting targets configured, online count will always be 0!");
         }
 
+        final List<BroadcastingTarget> targets = this.config.targets();
+        this.targetMetrics = new FetchMetrics[targets.size()];
+        for (int i = 0; i < this.targetMetrics.length; i++) {
+            this.targetMetrics[i] = this.metricsRegistry.target(targets.get(i).name());
+        }
+        this.actions = new byte[targets.size()];
+        this.lastWritten = new int[targets.size()];
+        Arrays.fill(this.lastWritten, -1);
+        this.lastWriteTime = new long[targets.size()];
+        this.batched = new boolean[targets.size()];
+        this.inFlight = new boolean[targets.size()];
+        this.missed = new boolean[targets.size()];
+        if (this.config.batching()) {
+            this.groupBatches(targets);
+        }
+
         final long interval = this.config.updatingInterval();
         this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.executorService.scheduleWithFixedDelay(this::update, 0L, interval, TimeUnit.MILLISECONDS);
@@ -84,6 +132,27 @@ public class DefaultBroadcastingManager implements BroadcastingManager {
         }
     }
 
+    private void groupBatches(final List<BroadcastingTarget> targets) {
+        final Map<JedisProvider, List<Integer>> groups = new IdentityHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            if (targets.get(i) instanceof final PipelinedTarget target && target.batchProvider() != null) {
+                groups.computeIfAbsent(target.batchProvider(), provider -> new ArrayList<>()).add(i);
+            }
+        }
+        for (final List<Integer> group : groups.values()) {
+            // A single target gains nothing from a shared pipeline
+            if (group.size() < 2) {
+                continue;
+            }
+            final int[] batch = group.stream().mapToInt(Integer::intValue).toArray();
+            for (final int index : batch) {
+                this.batched[index] = true;
+            }
+            this.batches.add(batch);
+        }
+        LOGGER.debug("Broadcasting targets grouped in {} batches", this.batches.size());
+    }
+
     private void update() {
         final int online;
         try {
@@ -98,18 +167,243 @@ public class DefaultBroadcastingManager implements BroadcastingManager {
             return;
         }
 
-        if (online == this.lastOnlineCount && this.config.onlyOnChange()) {
-            return;
+        if (this.config.delta().enabled()) {
+            this.planDelta(online);
+        } else {
+            if (online == this.lastOnlineCount && this.config.onlyOnChange()) {
+                return;
+            }
+            this.lastOnlineCount = online;
+            Arrays.fill(this.actions, WRITE);
         }
-        this.lastOnlineCount = online;
 
-        for (final BroadcastingTarget target : this.config.targets()) {
+        for (int i = 0; i < this.actions.length; i++) {
+            if (this.actions[i] != SKIP && this.inFlight[i]) {
+                this.actions[i] = SKIP;
+                this.missed[i] = true;
+            }
+        }
+
+        final List<BroadcastingTarget> targets = this.config.targets();
+        for (final int[] batch : this.batches) {
+            if (this.hasPendingAction(batch)) {
+                this.broadcastBatch(batch, targets, online);
+            }
+        }
+        for (int i = 0; i < this.actions.length; i++) {
+            if (this.actions[i] != SKIP && !this.batched[i]) {
+                this.broadcast(i, targets.get(i), online, this.actions[i] == REFRESH);
+            }
+        }
+    }
+
+    private void planDelta(final int online) {
+        final Configuration.Broadcasting.Delta delta = this.config.delta();
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < this.actions.length; i++) {
+            final int lastWritten = this.lastWritten[i];
+            if (lastWritten < 0 || isSignificant(online, lastWritten, delta)) {
+                this.actions[i] = WRITE;
+            } else if (now - this.lastWriteTime[i] >= delta.heartbeatInterval()) {
+                // A small change is still written with the heartbeat, otherwise only the expiration is extended
+                this.actions[i] = online == lastWritten ? REFRESH : WRITE;
+            } else {
+                this.actions[i] = SKIP;
+            }
+        }
+    }
+
+    private boolean hasPendingAction(final int[] batch) {
+        for (final int index : batch) {
+            if (this.actions[index] != SKIP) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void broadcastBatch(final int[] batch, final List<BroadcastingTarget> targets, final int online) {
+        // The actions are copied as the pipeline may be sent after the next update on an async provider
+        final byte[] actions = new byte[batch.length];
+        for (int j = 0; j < batch.length; j++) {
+            actions[j] = this.actions[batch[j]];
+            if (actions[j] != SKIP) {
+                this.inFlight[batch[j]] = true;
+            }
+        }
+        final JedisProvider provider = Objects.requireNonNull(((PipelinedTarget) targets.get(batch[0])).batchProvider());
+        final long start = System.nanoTime();
+        CompletableFuture<List<Response<?>>[]> future;
+        if (provider instanceof final AsyncJedisProvider asyncProvider) {
+            future = asyncProvider.submit(jedis -> sendBatch(jedis, batch, actions, targets, online));
+        } else {
             try {
-                target.broadcast(online);
+                future = CompletableFuture.completedFuture(sendBatch(provider.getJedis(), batch, actions, targets, online));
             } catch (final Exception e) {
-                LOGGER.error("Failed to broadcast online count on target: {}", target, e);
+                future = CompletableFuture.failedFuture(e);
             }
         }
+        this.onComplete(future, (responses, throwable) -> this.completeBatch(batch, actions, targets, online, start, responses, throwable));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Response<?>>[] sendBatch(final UnifiedJedis jedis,
+                                                 final int[] batch,
+                                                 final byte[] actions,
+                                                 final List<BroadcastingTarget> targets,
+                                                 final int online) {
+        final List<Response<?>>[] responses = new List[batch.length];
+        try (final AbstractPipeline pipeline = jedis.pipelined()) {
+            for (int j = 0; j < batch.length; j++) {
+                if (actions[j] == SKIP) {
+                    continue;
+                }
+                final PipelinedTarget target = (PipelinedTarget) targets.get(batch[j]);
+                responses[j] = new ArrayList<>(3);
+                if (actions[j] == REFRESH) {
+                    target.refresh(pipeline, online, responses[j]);
+                } else {
+                    target.broadcast(pipeline, online, responses[j]);
+                }
+            }
+            pipeline.sync();
+        }
+        return responses;
+    }
+
+    private void completeBatch(final int[] batch,
+                               final byte[] actions,
+                               final List<BroadcastingTarget> targets,
+                               final int online,
+                               final long start,
+                               final List<Response<?>>[] responses,
+                               final Throwable throwable) {
+        for (int j = 0; j < batch.length; j++) {
+            if (actions[j] == SKIP) {
+                continue;
+            }
+            final int index = batch[j];
+            this.complete(index);
+            // Every target of the batch is reported on its own, a failure only affects its target
+            try {
+                this.completeBatched(index, actions[j], targets.get(index), online, start, responses, j, throwable);
+            } catch (final Exception e) {
+                LOGGER.error("Failed to complete broadcasting on target: {}", targets.get(index), e);
+            }
+        }
+    }
+
+    private void completeBatched(final int index,
+                                 final byte action,
+                                 final BroadcastingTarget target,
+                                 final int online,
+                                 final long start,
+                                 final List<Response<?>>[] responses,
+                                 final int position,
+                                 final Throwable throwable) {
+        if (throwable != null) {
+            this.recordFailure(index, start, target, throwable);
+            return;
+        }
+        try {
+            for (final Response<?> response : responses[position]) {
+                response.get();
+            }
+            if (action == REFRESH && !((PipelinedTarget) target).isRefreshed(responses[position])) {
+                // The count is gone from the target, extending its expiration is not enough
+                this.broadcast(index, target, online, false);
+                return;
+            }
+            this.recordSuccess(index, start, online);
+        } catch (final JedisNoScriptException e) {
+            // The direct call loads the script again
+            this.broadcast(index, target, online, action == REFRESH);
+        } catch (final Exception e) {
+            this.recordFailure(index, start, target, e);
+        }
+    }
+
+    private void broadcast(final int index, final BroadcastingTarget target, final int online, final boolean refresh) {
+        final long start = System.nanoTime();
+        CompletableFuture<Void> future;
+        try {
+            future = refresh ? target.refreshAsync(online) : target.broadcastAsync(online);
+        } catch (final Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        this.inFlight[index] = true;
+        this.onComplete(future, (ignored, throwable) -> {
+            this.complete(index);
+            if (throwable != null) {
+                this.recordFailure(index, start, target, throwable);
+            } else {
+                this.recordSuccess(index, start, online);
+            }
+        });
+    }
+
+    // The state of the targets is only accessed from the scheduler thread, completed futures are handled immediately
+    private <T> void onComplete(final CompletableFuture<T> future, final BiConsumer<T, Throwable> action) {
+        if (future.isDone()) {
+            T result = null;
+            Throwable throwable = null;
+            try {
+                result = future.getNow(null);
+            } catch (final CompletionException | CancellationException e) {
+                throwable = e;
+            }
+            runCompletion(action, result, throwable);
+            return;
+        }
+        future.whenComplete((result, throwable) -> {
+            try {
+                this.executorService.execute(() -> runCompletion(action, result, throwable));
+            } catch (final RejectedExecutionException ignored) {
+                // Stopped
+            }
+        });
+    }
+
+    // An exception thrown by a completion would otherwise be dropped with the future returned by whenComplete
+    private static <T> void runCompletion(final BiConsumer<T, Throwable> action, final T result, final Throwable throwable) {
+        try {
+            action.accept(result, throwable);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to complete broadcasting", e);
+        }
+    }
+
+    private void complete(final int index) {
+        this.inFlight[index] = false;
+        if (this.missed[index]) {
+            // The skipped update is written on the next one, even if the count does not change
+            this.missed[index] = false;
+            this.lastOnlineCount = -1;
+        }
+    }
+
+    private void recordSuccess(final int index, final long start, final int online) {
+        this.targetMetrics[index].recordSuccess(System.nanoTime() - start, online);
+        this.lastWritten[index] = online;
+        this.lastWriteTime[index] = System.currentTimeMillis();
+    }
+
+    private void recordFailure(final int index, final long start, final BroadcastingTarget target, final Throwable throwable) {
+        this.targetMetrics[index].recordFailure(System.nanoTime() - start);
+        this.lastWritten[index] = -1;
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        LOGGER.error("Failed to broadcast online count on target: {}", target, cause);
+    }
+
+    private static boolean isSignificant(final int online, final int lastWritten, final Configuration.Broadcasting.Delta delta) {
+        final int difference = Math.abs(online - lastWritten);
+        if (difference == 0) {
+            return false;
+        }
+        if (delta.threshold() > 0 && difference >= delta.threshold()) {
+            return true;
+        }
+        return delta.percentage() > 0.0D && difference * 100.0D >= lastWritten * delta.percentage();
     }
 
 }
\ No newline at end of file
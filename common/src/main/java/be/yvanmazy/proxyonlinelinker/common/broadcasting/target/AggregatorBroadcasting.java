@@ -0,0 +1,172 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
+
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class AggregatorBroadcasting implements BroadcastingTarget {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatorBroadcasting.class);
+
+    private final InetSocketAddress address;
+    private final String serverId;
+    private final int timeout;
+    private final String secret;
+
+    private Socket socket;
+    private long lastReceived;
+    // Written again with each heartbeat, so that the count is restored after a reconnection even without broadcast
+    private int lastOnline = -1;
+    private ScheduledExecutorService heartbeat;
+
+    public AggregatorBroadcasting(final @NotNull InetSocketAddress address,
+                                  final @NotNull String serverId,
+                                  final int timeout,
+                                  final @Nullable String secret) {
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        this.serverId = Preconditions.requireNonBlank(serverId, "serverId");
+        this.timeout = Math.max(timeout, 0);
+        this.secret = secret;
+    }
+
+    @Override
+    public synchronized void broadcast(final int online) {
+        this.lastOnline = online;
+        if (this.heartbeat == null) {
+            this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "ProxyOnlineLinker Aggregator Heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = AggregatorProtocol.HEARTBEAT_INTERVAL;
+            this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        try {
+            this.send(online);
+        } catch (final IOException exception) {
+            // The next broadcast or heartbeat connects again, the aggregator dropped the count with the connection
+            this.close();
+            throw new UncheckedIOException("Failed to send count to aggregator " + this.address, exception);
+        }
+    }
+
+    private synchronized void sendHeartbeat() {
+        if (this.lastOnline < 0) {
+            return;
+        }
+        try {
+            this.send(this.lastOnline);
+        } catch (final IOException exception) {
+            this.close();
+            LOGGER.warn("Failed to send heartbeat to aggregator {}", this.address, exception);
+        }
+    }
+
+    private void send(final int online) throws IOException {
+        if (this.socket != null) {
+            try {
+                this.checkAlive();
+                AggregatorProtocol.write(this.socket.getOutputStream(), AggregatorProtocol.count(this.serverId, online));
+                return;
+            } catch (final IOException exception) {
+                // A connection closed by the aggregator is only noticed when writing, the count is sent on a new one
+                this.close();
+            }
+        }
+        this.socket = AggregatorProtocol.connect(this.address, this.timeout, AggregatorProtocol.ROLE_PUBLISHER, this.secret);
+        this.lastReceived = System.currentTimeMillis();
+        AggregatorProtocol.write(this.socket.getOutputStream(), AggregatorProtocol.count(this.serverId, online));
+    }
+
+    // The aggregator sends a frame at least every heartbeat interval, they are only read to detect a dead connection
+    private void checkAlive() throws IOException {
+        final InputStream in = this.socket.getInputStream();
+        final long now = System.currentTimeMillis();
+        int available;
+        while ((available = in.available()) > 0) {
+            in.skip(available);
+            this.lastReceived = now;
+        }
+        if (now - this.lastReceived >= AggregatorProtocol.IDLE_TIMEOUT) {
+            throw new SocketTimeoutException("No heartbeat received from the aggregator");
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.lastOnline = -1;
+        if (this.heartbeat != null) {
+            this.heartbeat.shutdownNow();
+            this.heartbeat = null;
+        }
+        if (this.socket == null) {
+            return;
+        }
+        try {
+            AggregatorProtocol.write(this.socket.getOutputStream(), AggregatorProtocol.count(this.serverId, AggregatorProtocol.REMOVED));
+        } catch (final IOException ignored) {
+            // Closing the connection removes the count as well
+        } finally {
+            this.close();
+        }
+    }
+
+    private void close() {
+        if (this.socket != null) {
+            try {
+                this.socket.close();
+            } catch (final IOException ignored) {
+            }
+            this.socket = null;
+        }
+    }
+
+    @Override
+    public @NotNull BroadcastingTargetType type() {
+        return BroadcastingTargetType.AGGREGATOR;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "aggregator:" + this.address.getHostString() + ':' + this.address.getPort();
+    }
+
+}
\ No newline at end of file
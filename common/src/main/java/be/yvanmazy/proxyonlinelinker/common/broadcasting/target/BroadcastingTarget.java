@@ -27,13 +27,45 @@ package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
 public interface BroadcastingTarget {
 
     void broadcast(final int online);
 
+    // Called when the count did not change, only needs to keep the last broadcast value alive
+    default void refresh(final int online) {
+        this.broadcast(online);
+    }
+
+    // Completes once the count is written, targets with a non-blocking backend return before
+    default @NotNull CompletableFuture<Void> broadcastAsync(final int online) {
+        try {
+            this.broadcast(online);
+            return CompletableFuture.completedFuture(null);
+        } catch (final Exception exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    default @NotNull CompletableFuture<Void> refreshAsync(final int online) {
+        try {
+            this.refresh(online);
+            return CompletableFuture.completedFuture(null);
+        } catch (final Exception exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
     void shutdown();
 
     @Contract(pure = true)
     @NotNull BroadcastingTargetType type();
 
+    @Contract(pure = true)
+    default @NotNull String name() {
+        return this.type().name().toLowerCase(Locale.ROOT);
+    }
+
 }
\ No newline at end of file
@@ -24,28 +24,68 @@
 
 package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
 
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import be.yvanmazy.proxyonlinelinker.common.gossip.GossipPacket;
+import be.yvanmazy.proxyonlinelinker.common.sharedmemory.SharedMemoryFile;
 import be.yvanmazy.proxyonlinelinker.common.util.MapTypeAccessor;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
-// TODO: Add other broadcasting modes
 public enum BroadcastingTargetType {
 
-    REDIS(accessor -> {
+    REDIS(true, accessor -> {
         final String serverId = accessor.getString("server-id");
         final String setKey = accessor.getString("set-key");
         final int expireSeconds = accessor.getInt("expire-seconds");
-        return new RedisBroadcasting(serverId, setKey, expireSeconds);
+        final String rawWriteMode = accessor.getString("write-mode", RedisWriteMode.TRANSACTION.name());
+        final RedisWriteMode writeMode = RedisWriteMode.valueOf(rawWriteMode.toUpperCase());
+        final String publishChannel = accessor.getString("publish-channel", "");
+        final int shards = accessor.getInt("shards", 1);
+        return new RedisBroadcasting(serverId, setKey, expireSeconds, writeMode, publishChannel, shards);
+    }),
+    GOSSIP(false, accessor -> {
+        final String serverId = accessor.getString("server-id");
+        final String network = accessor.getString("network", "default");
+        final List<InetSocketAddress> peers = accessor.getStringList("peers").stream().map(GossipPacket::parseAddress).toList();
+        final int expireSeconds = accessor.getInt("expire-seconds", 30);
+        final String secret = accessor.getString("secret", "");
+        return new GossipBroadcasting(serverId, network, peers, expireSeconds, secret);
+    }),
+    AGGREGATOR(false, accessor -> {
+        final String host = accessor.getString("host");
+        final int port = accessor.getInt("port", AggregatorProtocol.DEFAULT_PORT);
+        final String serverId = accessor.getString("server-id");
+        final int timeout = accessor.getInt("timeout", 5000);
+        final String secret = accessor.getString("secret", "");
+        return new AggregatorBroadcasting(new InetSocketAddress(host, port), serverId, timeout, secret);
+    }),
+    SHARED_MEMORY(false, accessor -> {
+        final String path = accessor.getString("path", SharedMemoryFile.DEFAULT_PATH);
+        final String serverId = accessor.getString("server-id");
+        final int expireSeconds = accessor.getInt("expire-seconds", 30);
+        final int slots = accessor.getInt("slots", SharedMemoryFile.DEFAULT_SLOTS);
+        return new SharedMemoryBroadcasting(Path.of(path), serverId, expireSeconds, slots);
     });
 
+    private final boolean requiresRedis;
     private final Function<MapTypeAccessor, BroadcastingTarget> factory;
 
-    BroadcastingTargetType(final Function<MapTypeAccessor, BroadcastingTarget> factory) {
+    BroadcastingTargetType(final boolean requiresRedis, final Function<MapTypeAccessor, BroadcastingTarget> factory) {
+        this.requiresRedis = requiresRedis;
         this.factory = factory;
     }
 
+    @Contract(pure = true)
+    public boolean requiresRedis() {
+        return this.requiresRedis;
+    }
+
     public @NotNull BroadcastingTarget create(final @NotNull MapTypeAccessor accessor) {
         return this.factory.apply(Objects.requireNonNull(accessor, "accessor must not be null"));
     }
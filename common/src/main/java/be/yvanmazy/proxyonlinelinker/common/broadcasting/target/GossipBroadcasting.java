@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
+
+import be.yvanmazy.proxyonlinelinker.common.gossip.GossipPacket;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.Objects;
+
+public class GossipBroadcasting implements BroadcastingTarget {
+
+    private final String serverId;
+    private final String network;
+    private final List<InetSocketAddress> peers;
+    private final int expireSeconds;
+    private final Mac mac;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(GossipPacket.MAX_SIZE);
+    private final DatagramChannel channel;
+    // Starts from the clock so that the sequence keeps increasing after a restart
+    private long sequence = System.currentTimeMillis() * 1000L;
+
+    public GossipBroadcasting(final @NotNull String serverId,
+                              final @NotNull String network,
+                              final @NotNull List<InetSocketAddress> peers,
+                              final int expireSeconds,
+                              final @Nullable String secret) {
+        this.serverId = Preconditions.requireNonBlank(serverId, "serverId");
+        this.network = Objects.requireNonNull(network, "network must not be null");
+        this.peers = List.copyOf(Preconditions.requireNonNullEntries(peers, "peers"));
+        if (this.peers.isEmpty()) {
+            throw new IllegalArgumentException("peers must not be empty");
+        }
+        this.expireSeconds = Math.max(expireSeconds, 0);
+        this.mac = GossipPacket.createMac(secret);
+        try {
+            this.channel = DatagramChannel.open();
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to open gossip channel", exception);
+        }
+    }
+
+    public GossipBroadcasting(final @NotNull String serverId,
+                              final @NotNull String network,
+                              final @NotNull List<InetSocketAddress> peers,
+                              final int expireSeconds) {
+        this(serverId, network, peers, expireSeconds, null);
+    }
+
+    @Override
+    public synchronized void broadcast(final int online) {
+        this.send(online);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        try {
+            this.send(GossipPacket.REMOVED);
+        } finally {
+            try {
+                this.channel.close();
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    private void send(final int online) {
+        this.buffer.clear();
+        GossipPacket.encode(this.buffer, this.network, this.serverId, ++this.sequence, online, this.expireSeconds, this.mac);
+        this.buffer.flip();
+
+        // Every peer is tried even if one of them fails
+        IOException failure = null;
+        for (final InetSocketAddress peer : this.peers) {
+            this.buffer.rewind();
+            try {
+                this.channel.send(this.buffer, peer);
+            } catch (final IOException exception) {
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Failed to send gossip packet", failure);
+        }
+    }
+
+    @Override
+    public @NotNull BroadcastingTargetType type() {
+        return BroadcastingTargetType.GOSSIP;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "gossip:" + this.network;
+    }
+
+}
\ No newline at end of file
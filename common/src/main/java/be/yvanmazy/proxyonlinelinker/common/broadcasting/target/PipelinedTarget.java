@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
+
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+
+import java.util.List;
+
+// Target whose writes can be queued in a pipeline shared with the other targets using the same provider
+public interface PipelinedTarget extends BroadcastingTarget {
+
+    // Returns null when the writes of this target cannot currently be batched
+    @Nullable JedisProvider batchProvider();
+
+    void broadcast(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses);
+
+    void refresh(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses);
+
+    // Called with the synced responses of a refresh, returns false when the count must be written again
+    default boolean isRefreshed(final @NotNull List<Response<?>> responses) {
+        return true;
+    }
+
+}
\ No newline at end of file
@@ -26,25 +26,96 @@ package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
 
 import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
 import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.redis.AsyncJedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.CountMessage;
 import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.RedisScript;
+import be.yvanmazy.proxyonlinelinker.common.redis.ShardedKeys;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.AbstractPipeline;
 import redis.clients.jedis.AbstractTransaction;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.UnifiedJedis;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
-public class RedisBroadcasting implements BroadcastingTarget, InitializableElement {
+public class RedisBroadcasting implements PipelinedTarget, InitializableElement {
+
+    private static final RedisScript BROADCAST_SCRIPT = new RedisScript("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            if tonumber(ARGV[3]) > 0 then
+                redis.call('HEXPIRE', KEYS[1], ARGV[3], 'FIELDS', 1, ARGV[1])
+            end
+            if ARGV[4] ~= '' then
+                redis.call('PUBLISH', ARGV[4], ARGV[5])
+            end
+            return 1
+            """);
+    // Reply of HEXPIRE for a field which does not exist
+    private static final long NO_FIELD = -2L;
 
     private final String serverId;
     private final String setKey;
+    private final String key;
     private final int expireSeconds;
+    private final RedisWriteMode writeMode;
+    private final String publishChannel;
+    private final List<String> scriptKeys;
 
     private JedisProvider jedisProvider;
 
-    public RedisBroadcasting(final @NotNull String serverId, final @NotNull String setKey, final int expireSeconds) {
+    public RedisBroadcasting(final @NotNull String serverId,
+                             final @NotNull String setKey,
+                             final int expireSeconds,
+                             final @NotNull RedisWriteMode writeMode,
+                             final @Nullable String publishChannel,
+                             final int shards) {
         this.serverId = Objects.requireNonNull(serverId, "serverId must not be null");
         this.setKey = Objects.requireNonNull(setKey, "setKey must not be null");
+        this.key = ShardedKeys.keyOf(setKey, serverId, shards);
         this.expireSeconds = Math.max(expireSeconds, 0);
+        this.writeMode = Objects.requireNonNull(writeMode, "writeMode must not be null");
+        this.publishChannel = publishChannel == null || publishChannel.isBlank() ? null : publishChannel;
+        this.scriptKeys = List.of(this.key);
+    }
+
+    public RedisBroadcasting(final @NotNull String serverId,
+                             final @NotNull String setKey,
+                             final int expireSeconds,
+                             final @NotNull RedisWriteMode writeMode,
+                             final @Nullable String publishChannel) {
+        this(serverId, setKey, expireSeconds, writeMode, publishChannel, 1);
+    }
+
+    public RedisBroadcasting(final @NotNull String serverId,
+                             final @NotNull String setKey,
+                             final int expireSeconds,
+                             final @NotNull RedisWriteMode writeMode) {
+        this(serverId, setKey, expireSeconds, writeMode, (String) null);
+    }
+
+    public RedisBroadcasting(final @NotNull String serverId, final @NotNull String setKey, final int expireSeconds) {
+        this(serverId, setKey, expireSeconds, RedisWriteMode.TRANSACTION);
+    }
+
+    public RedisBroadcasting(final @NotNull String serverId,
+                             final @NotNull String setKey,
+                             final int expireSeconds,
+                             final @NotNull RedisWriteMode writeMode,
+                             final @NotNull JedisProvider jedisProvider) {
+        this(serverId, setKey, expireSeconds, writeMode);
+        this.jedisProvider = Objects.requireNonNull(jedisProvider, "jedisProvider must not be null");
+    }
+
+    public RedisBroadcasting(final @NotNull String serverId,
+                             final @NotNull String setKey,
+                             final int expireSeconds,
+                             final @NotNull JedisProvider jedisProvider) {
+        this(serverId, setKey, expireSeconds, RedisWriteMode.TRANSACTION, jedisProvider);
     }
 
     @Override
@@ -54,19 +125,128 @@ public class RedisBroadcasting implements BroadcastingTarget, InitializableEleme
 
     @Override
     public void broadcast(final int online) {
-        final UnifiedJedis jedis = this.jedisProvider.getJedis();
-        try (final AbstractTransaction transaction = jedis.multi()) {
-            transaction.hset(this.setKey, this.serverId, String.valueOf(online));
-            if (this.expireSeconds > 0) {
-                transaction.hexpire(this.setKey, this.expireSeconds, this.serverId);
+        this.write(this.jedisProvider.getJedis(), online);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> broadcastAsync(final int online) {
+        if (this.jedisProvider instanceof final AsyncJedisProvider asyncProvider) {
+            return asyncProvider.submit(jedis -> {
+                this.write(jedis, online);
+                return null;
+            });
+        }
+        return PipelinedTarget.super.broadcastAsync(online);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> refreshAsync(final int online) {
+        if (this.expireSeconds > 0 && this.jedisProvider instanceof final AsyncJedisProvider asyncProvider) {
+            return asyncProvider.submit(jedis -> {
+                this.refresh(jedis, online);
+                return null;
+            });
+        }
+        return PipelinedTarget.super.refreshAsync(online);
+    }
+
+    private void write(final UnifiedJedis jedis, final int online) {
+        switch (this.writeMode) {
+            case TRANSACTION -> {
+                try (final AbstractTransaction transaction = jedis.multi()) {
+                    transaction.hset(this.key, this.serverId, String.valueOf(online));
+                    if (this.expireSeconds > 0) {
+                        transaction.hexpire(this.key, this.expireSeconds, this.serverId);
+                    }
+                    if (this.publishChannel != null) {
+                        transaction.publish(this.publishChannel, CountMessage.encode(this.serverId, online));
+                    }
+                    transaction.exec();
+                }
             }
-            transaction.exec();
+            case PIPELINE -> {
+                if (this.expireSeconds <= 0 && this.publishChannel == null) {
+                    jedis.hset(this.key, this.serverId, String.valueOf(online));
+                    return;
+                }
+                try (final AbstractPipeline pipeline = jedis.pipelined()) {
+                    this.queueWrite(pipeline, online, new ArrayList<>(3));
+                    pipeline.sync();
+                }
+            }
+            case SCRIPT -> BROADCAST_SCRIPT.eval(jedis, this.scriptKeys, this.scriptArgs(online));
+        }
+    }
+
+    @Override
+    public @Nullable JedisProvider batchProvider() {
+        return this.writeMode != RedisWriteMode.TRANSACTION ? this.jedisProvider : null;
+    }
+
+    @Override
+    public void broadcast(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses) {
+        if (this.writeMode == RedisWriteMode.SCRIPT) {
+            responses.add(pipeline.evalsha(BROADCAST_SCRIPT.sha(), this.scriptKeys, this.scriptArgs(online)));
+        } else {
+            this.queueWrite(pipeline, online, responses);
+        }
+    }
+
+    @Override
+    public void refresh(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses) {
+        if (this.expireSeconds > 0) {
+            responses.add(pipeline.hexpire(this.key, this.expireSeconds, this.serverId));
+        }
+    }
+
+    @Override
+    public boolean isRefreshed(final @NotNull List<Response<?>> responses) {
+        if (responses.isEmpty()) {
+            return true;
+        }
+        return !(responses.get(0).get() instanceof final List<?> reply) || !reply.contains(NO_FIELD);
+    }
+
+    private void queueWrite(final AbstractPipeline pipeline, final int online, final List<Response<?>> responses) {
+        responses.add(pipeline.hset(this.key, this.serverId, String.valueOf(online)));
+        if (this.expireSeconds > 0) {
+            responses.add(pipeline.hexpire(this.key, this.expireSeconds, this.serverId));
+        }
+        if (this.publishChannel != null) {
+            responses.add(pipeline.publish(this.publishChannel, CountMessage.encode(this.serverId, online)));
+        }
+    }
+
+    private List<String> scriptArgs(final int online) {
+        return List.of(this.serverId,
+                String.valueOf(online),
+                String.valueOf(this.expireSeconds),
+                this.publishChannel != null ? this.publishChannel : "",
+                CountMessage.encode(this.serverId, online));
+    }
+
+    @Override
+    public void refresh(final int online) {
+        if (this.expireSeconds > 0) {
+            this.refresh(this.jedisProvider.getJedis(), online);
+        }
+    }
+
+    private void refresh(final UnifiedJedis jedis, final int online) {
+        // The field is gone if Redis was flushed or restarted, or if it expired after a late heartbeat
+        final List<Long> reply = jedis.hexpire(this.key, this.expireSeconds, this.serverId);
+        if (reply != null && reply.contains(NO_FIELD)) {
+            this.write(jedis, online);
         }
     }
 
     @Override
     public void shutdown() {
-        this.jedisProvider.getJedis().hdel(this.setKey, this.serverId);
+        final UnifiedJedis jedis = this.jedisProvider.getJedis();
+        jedis.hdel(this.key, this.serverId);
+        if (this.publishChannel != null) {
+            jedis.publish(this.publishChannel, CountMessage.encode(this.serverId, CountMessage.REMOVED));
+        }
     }
 
     @Override
@@ -74,4 +254,9 @@ public class RedisBroadcasting implements BroadcastingTarget, InitializableEleme
         return BroadcastingTargetType.REDIS;
     }
 
+    @Override
+    public @NotNull String name() {
+        return "redis:" + this.setKey;
+    }
+
 }
\ No newline at end of file
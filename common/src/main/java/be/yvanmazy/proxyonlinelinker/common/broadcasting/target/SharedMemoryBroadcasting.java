@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.broadcasting.target;
+
+import be.yvanmazy.proxyonlinelinker.common.sharedmemory.SharedMemoryFile;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public class SharedMemoryBroadcasting implements BroadcastingTarget {
+
+    private final Path path;
+    private final String serverId;
+    private final int expireSeconds;
+    private final int slots;
+
+    private SharedMemoryFile file;
+    private int slot = -1;
+
+    public SharedMemoryBroadcasting(final @NotNull Path path, final @NotNull String serverId, final int expireSeconds, final int slots) {
+        this.path = Objects.requireNonNull(path, "path must not be null");
+        this.serverId = Preconditions.requireNonBlank(serverId, "serverId");
+        this.expireSeconds = Math.max(expireSeconds, 0);
+        Preconditions.checkRange(slots, 1L, Integer.MAX_VALUE, "slots");
+        this.slots = slots;
+    }
+
+    @Override
+    public synchronized void broadcast(final int online) {
+        try {
+            if (this.file == null) {
+                this.file = SharedMemoryFile.open(this.path, this.slots);
+            }
+            // The slot is claimed again if it expired and was taken by another server
+            if (this.slot < 0 || !this.file.write(this.slot, this.serverId, online, this.expireSeconds)) {
+                this.slot = this.file.claim(this.serverId);
+                this.file.write(this.slot, this.serverId, online, this.expireSeconds);
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to write count in shared memory file " + this.path, exception);
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (this.file == null) {
+            return;
+        }
+        try {
+            if (this.slot >= 0) {
+                this.file.release(this.slot, this.serverId);
+            }
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to release slot in shared memory file " + this.path, exception);
+        } finally {
+            try {
+                this.file.close();
+            } catch (final IOException ignored) {
+            }
+            this.file = null;
+        }
+    }
+
+    @Override
+    public @NotNull BroadcastingTargetType type() {
+        return BroadcastingTargetType.SHARED_MEMORY;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "shared-memory:" + this.path;
+    }
+
+}
\ No newline at end of file
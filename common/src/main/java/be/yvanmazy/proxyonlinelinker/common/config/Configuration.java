@@ -28,7 +28,9 @@ import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
 import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTarget;
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTargetType;
+import be.yvanmazy.proxyonlinelinker.common.metrics.exporter.MetricsExporter;
 import be.yvanmazy.proxyonlinelinker.common.redis.RedisMode;
+import be.yvanmazy.proxyonlinelinker.common.status.fallback.FallbackStrategy;
 import be.yvanmazy.proxyonlinelinker.common.status.replacement.ReplacementStrategy;
 import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSource;
 import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSourceType;
@@ -51,6 +53,9 @@ public interface Configuration extends StateValidator {
     @Contract(pure = true)
     @NotNull Redis redis();
 
+    @Contract(pure = true)
+    @NotNull Metrics metrics();
+
     default void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
         Preconditions.checkNotNull(proxyOnlineLinker, "proxyOnlineLinker");
         final Broadcasting broadcasting = this.broadcasting();
@@ -76,13 +81,14 @@ public interface Configuration extends StateValidator {
         this.broadcasting().validate();
         this.status().validate();
         this.redis().validate();
+        this.metrics().validate();
     }
 
     default boolean needRedis() {
         return (this.broadcasting().enabled() &&
-                this.broadcasting().targets().stream().map(BroadcastingTarget::type).anyMatch(t -> t == BroadcastingTargetType.REDIS)) ||
+                this.broadcasting().targets().stream().map(BroadcastingTarget::type).anyMatch(BroadcastingTargetType::requiresRedis)) ||
                 (this.status().enabled() &&
-                        this.status().sources().stream().map(StatusSource::type).anyMatch(t -> t == StatusSourceType.REDIS));
+                        this.status().sources().stream().map(StatusSource::type).anyMatch(StatusSourceType::requiresRedis));
     }
 
     interface Broadcasting extends StateValidator {
@@ -99,18 +105,49 @@ public interface Configuration extends StateValidator {
         @Contract(pure = true)
         @NotNull List<BroadcastingTarget> targets();
 
+        @Contract(pure = true)
+        @NotNull Delta delta();
+
+        @Contract(pure = true)
+        boolean batching();
+
         @Override
         default void validate() {
             Preconditions.checkRange(this.updatingInterval(), 0L, Long.MAX_VALUE, "updatingInterval");
             Preconditions.requireNonNullEntries(this.targets(), "targets");
+            Preconditions.checkNotNull(this.delta(), "delta");
+            this.delta().validate();
+        }
+
+        interface Delta extends StateValidator {
+
+            @Contract(pure = true)
+            boolean enabled();
+
+            @Contract(pure = true)
+            @Range(from = 0L, to = Integer.MAX_VALUE)
+            int threshold();
+
+            @Contract(pure = true)
+            double percentage();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Long.MAX_VALUE)
+            long heartbeatInterval();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.threshold(), 0L, Integer.MAX_VALUE, "threshold");
+                Preconditions.checkRange(this.percentage(), 0.0D, 100.0D, "percentage");
+                Preconditions.checkRange(this.heartbeatInterval(), 1L, Long.MAX_VALUE, "heartbeatInterval");
+            }
+
         }
 
     }
 
     interface Status extends StateValidator {
 
-        // TODO: Add fallback strategy
-
         @Contract(pure = true)
         boolean enabled();
 
@@ -128,18 +165,87 @@ public interface Configuration extends StateValidator {
         @Range(from = 0L, to = Long.MAX_VALUE)
         long inactivityTimeout();
 
+        @Contract(pure = true)
+        boolean parallelFetching();
+
+        @Contract(pure = true)
+        @Range(from = 0L, to = Long.MAX_VALUE)
+        long parallelFetchingTimeout();
+
+        @Contract(pure = true)
+        boolean independentScheduling();
+
         @Contract(pure = true)
         @NotNull List<StatusSource> sources();
 
+        @Contract(pure = true)
+        @NotNull AdaptiveRefresh adaptiveRefresh();
+
+        @Contract(pure = true)
+        @NotNull Fallback fallback();
+
         @Contract(pure = true)
         @NotNull Replacement replacement();
 
         @Override
         default void validate() {
+            Preconditions.checkRange(this.parallelFetchingTimeout(), 0L, Long.MAX_VALUE, "parallelFetchingTimeout");
             Preconditions.requireNonNullEntries(this.sources(), "sources");
+            Preconditions.checkNotNull(this.adaptiveRefresh(), "adaptiveRefresh");
+            this.adaptiveRefresh().validate();
+            Preconditions.checkNotNull(this.fallback(), "fallback");
+            this.fallback().validate();
             this.replacement().validate();
         }
 
+        interface AdaptiveRefresh extends StateValidator {
+
+            @Contract(pure = true)
+            boolean enabled();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Long.MAX_VALUE)
+            long minInterval();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Long.MAX_VALUE)
+            long maxInterval();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Integer.MAX_VALUE)
+            int changeThreshold();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.minInterval(), 1L, Long.MAX_VALUE, "minInterval");
+                Preconditions.checkRange(this.maxInterval(), this.minInterval(), Long.MAX_VALUE, "maxInterval");
+                Preconditions.checkRange(this.changeThreshold(), 1L, Integer.MAX_VALUE, "changeThreshold");
+            }
+
+        }
+
+        interface Fallback extends StateValidator {
+
+            @Contract(pure = true)
+            @NotNull FallbackStrategy strategy();
+
+            @Contract(pure = true)
+            @Range(from = 0L, to = Long.MAX_VALUE)
+            long maxAge();
+
+            @Contract(pure = true)
+            @Range(from = 0L, to = Long.MAX_VALUE)
+            long decayHalfLife();
+
+            @Override
+            default void validate() {
+                Preconditions.checkNotNull(this.strategy(), "strategy");
+                Preconditions.checkRange(this.maxAge(), 0L, Long.MAX_VALUE, "maxAge");
+                Preconditions.checkRange(this.decayHalfLife(), 0L, Long.MAX_VALUE, "decayHalfLife");
+            }
+
+        }
+
         interface Replacement extends StateValidator {
 
             @Contract(pure = true)
@@ -154,6 +260,21 @@ public interface Configuration extends StateValidator {
 
     }
 
+    interface Metrics extends StateValidator {
+
+        @Contract(pure = true)
+        boolean enabled();
+
+        @Contract(pure = true)
+        @NotNull List<MetricsExporter> exporters();
+
+        @Override
+        default void validate() {
+            Preconditions.requireNonNullEntries(this.exporters(), "exporters");
+        }
+
+    }
+
     interface Redis extends StateValidator {
 
         @Contract(pure = true)
@@ -186,6 +307,18 @@ public interface Configuration extends StateValidator {
         @Contract(pure = true)
         @NotNull Cluster cluster();
 
+        @Contract(pure = true)
+        @NotNull ClientSideCaching clientSideCaching();
+
+        @Contract(pure = true)
+        @NotNull Pool pool();
+
+        @Contract(pure = true)
+        @NotNull Startup startup();
+
+        @Contract(pure = true)
+        @NotNull AsyncExecution asyncExecution();
+
         @Override
         default void validate() {
             Preconditions.checkNotNull(this.mode(), "mode");
@@ -194,6 +327,105 @@ public interface Configuration extends StateValidator {
             this.standalone().validate();
             this.sentinel().validate();
             this.cluster().validate();
+            Preconditions.checkNotNull(this.clientSideCaching(), "clientSideCaching");
+            this.clientSideCaching().validate();
+            Preconditions.checkNotNull(this.pool(), "pool");
+            this.pool().validate();
+            Preconditions.checkNotNull(this.startup(), "startup");
+            this.startup().validate();
+            Preconditions.checkNotNull(this.asyncExecution(), "asyncExecution");
+            this.asyncExecution().validate();
+        }
+
+        interface AsyncExecution extends StateValidator {
+
+            @Contract(pure = true)
+            boolean enabled();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Integer.MAX_VALUE)
+            int maxInFlight();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Long.MAX_VALUE)
+            long commandTimeout();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.maxInFlight(), 1L, Integer.MAX_VALUE, "maxInFlight");
+                Preconditions.checkRange(this.commandTimeout(), 1L, Long.MAX_VALUE, "commandTimeout");
+            }
+
+        }
+
+        interface Pool extends StateValidator {
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Integer.MAX_VALUE)
+            int maxTotal();
+
+            @Contract(pure = true)
+            @Range(from = 0L, to = Integer.MAX_VALUE)
+            int maxIdle();
+
+            @Contract(pure = true)
+            @Range(from = 0L, to = Integer.MAX_VALUE)
+            int minIdle();
+
+            @Contract(pure = true)
+            long maxWaitMillis();
+
+            @Contract(pure = true)
+            boolean warmUp();
+
+            @Contract(pure = true)
+            boolean testOnBorrow();
+
+            @Contract(pure = true)
+            long healthCheckInterval();
+
+            @Contract(pure = true)
+            long minEvictableIdleTime();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.maxTotal(), 1L, Integer.MAX_VALUE, "maxTotal");
+                Preconditions.checkRange(this.maxIdle(), 0L, this.maxTotal(), "maxIdle");
+                Preconditions.checkRange(this.minIdle(), 0L, this.maxIdle(), "minIdle");
+            }
+
+        }
+
+        interface Startup extends StateValidator {
+
+            @Contract(pure = true)
+            boolean async();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Long.MAX_VALUE)
+            long retryInterval();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.retryInterval(), 1L, Long.MAX_VALUE, "retryInterval");
+            }
+
+        }
+
+        interface ClientSideCaching extends StateValidator {
+
+            @Contract(pure = true)
+            boolean enabled();
+
+            @Contract(pure = true)
+            @Range(from = 1L, to = Integer.MAX_VALUE)
+            int maxSize();
+
+            @Override
+            default void validate() {
+                Preconditions.checkRange(this.maxSize(), 1L, Integer.MAX_VALUE, "maxSize");
+            }
+
         }
 
         interface Standalone extends StateValidator {
@@ -26,9 +26,13 @@ package be.yvanmazy.proxyonlinelinker.common.config;
 
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTarget;
 import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTargetType;
+import be.yvanmazy.proxyonlinelinker.common.metrics.exporter.MetricsExporter;
+import be.yvanmazy.proxyonlinelinker.common.metrics.exporter.MetricsExporterType;
 import be.yvanmazy.proxyonlinelinker.common.redis.RedisMode;
+import be.yvanmazy.proxyonlinelinker.common.status.fallback.FallbackStrategy;
 import be.yvanmazy.proxyonlinelinker.common.status.replacement.ReplacementStrategy;
 import be.yvanmazy.proxyonlinelinker.common.status.source.CacheLayerSource;
+import be.yvanmazy.proxyonlinelinker.common.status.source.RefreshIntervalSource;
 import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSource;
 import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSourceType;
 import be.yvanmazy.proxyonlinelinker.common.util.MapTypeAccessor;
@@ -42,6 +46,7 @@ public final class DummyConfiguration implements Configuration {
     private Broadcasting broadcasting;
     private Status status;
     private Redis redis;
+    private Metrics metrics = new Metrics();
 
     @Override
     public @NotNull Broadcasting broadcasting() {
@@ -58,6 +63,11 @@ public final class DummyConfiguration implements Configuration {
         return ensureLoaded(this.redis);
     }
 
+    @Override
+    public @NotNull Metrics metrics() {
+        return ensureLoaded(this.metrics);
+    }
+
     public void setBroadcasting(final Broadcasting broadcasting) {
         this.broadcasting = broadcasting;
     }
@@ -70,9 +80,14 @@ public final class DummyConfiguration implements Configuration {
         this.redis = redis;
     }
 
+    public void setMetrics(final Metrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public String toString() {
-        return "DummyConfiguration{" + "broadcasting=" + this.broadcasting + ", status=" + this.status + ", redis=" + this.redis + '}';
+        return "DummyConfiguration{" + "broadcasting=" + this.broadcasting + ", status=" + this.status + ", redis=" + this.redis +
+                ", metrics=" + this.metrics + '}';
     }
 
     private static <T> @NotNull T ensureLoaded(final T value) {
@@ -85,6 +100,8 @@ public final class DummyConfiguration implements Configuration {
         private boolean onlyOnChange;
         private long updatingInterval;
         private List<BroadcastingTarget> targets;
+        private Delta delta = new Delta();
+        private boolean batching;
 
         @Override
         public boolean enabled() {
@@ -106,6 +123,16 @@ public final class DummyConfiguration implements Configuration {
             return this.targets;
         }
 
+        @Override
+        public Configuration.Broadcasting.@NotNull Delta delta() {
+            return this.delta;
+        }
+
+        @Override
+        public boolean batching() {
+            return this.batching;
+        }
+
         public void setEnabled(final boolean enabled) {
             this.enabled = enabled;
         }
@@ -138,10 +165,70 @@ public final class DummyConfiguration implements Configuration {
             this.targets = targets;
         }
 
+        public void setDelta(final Delta delta) {
+            this.delta = delta;
+        }
+
+        public void setBatching(final boolean batching) {
+            this.batching = batching;
+        }
+
         @Override
         public String toString() {
             return "Broadcasting{" + "enabled=" + this.enabled + ", onlyOnUpdate=" + this.onlyOnChange + ", updatingInterval=" +
-                    this.updatingInterval + ", targets=" + this.targets + '}';
+                    this.updatingInterval + ", targets=" + this.targets + ", delta=" + this.delta + ", batching=" +
+                    this.batching + '}';
+        }
+
+        public static final class Delta implements Configuration.Broadcasting.Delta {
+
+            private boolean enabled;
+            private int threshold = 1;
+            private double percentage;
+            private long heartbeatInterval = 20000L;
+
+            @Override
+            public boolean enabled() {
+                return this.enabled;
+            }
+
+            @Override
+            public int threshold() {
+                return this.threshold;
+            }
+
+            @Override
+            public double percentage() {
+                return this.percentage;
+            }
+
+            @Override
+            public long heartbeatInterval() {
+                return this.heartbeatInterval;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setThreshold(final int threshold) {
+                this.threshold = threshold;
+            }
+
+            public void setPercentage(final double percentage) {
+                this.percentage = percentage;
+            }
+
+            public void setHeartbeatInterval(final long heartbeatInterval) {
+                this.heartbeatInterval = heartbeatInterval;
+            }
+
+            @Override
+            public String toString() {
+                return "Delta{" + "enabled=" + this.enabled + ", threshold=" + this.threshold + ", percentage=" + this.percentage +
+                        ", heartbeatInterval=" + this.heartbeatInterval + '}';
+            }
+
         }
 
     }
@@ -153,7 +240,12 @@ public final class DummyConfiguration implements Configuration {
         private boolean requestOnDemand;
         private boolean parallelRequestOnDemand;
         private long inactivityTimeout;
+        private boolean parallelFetching;
+        private long parallelFetchingTimeout;
+        private boolean independentScheduling;
         private List<StatusSource> sources;
+        private AdaptiveRefresh adaptiveRefresh = new AdaptiveRefresh();
+        private Fallback fallback = new Fallback();
         private Replacement replacement;
 
         @Override
@@ -181,11 +273,36 @@ public final class DummyConfiguration implements Configuration {
             return this.inactivityTimeout;
         }
 
+        @Override
+        public boolean parallelFetching() {
+            return this.parallelFetching;
+        }
+
+        @Override
+        public long parallelFetchingTimeout() {
+            return this.parallelFetchingTimeout;
+        }
+
+        @Override
+        public boolean independentScheduling() {
+            return this.independentScheduling;
+        }
+
         @Override
         public @NotNull List<StatusSource> sources() {
             return this.sources;
         }
 
+        @Override
+        public Configuration.Status.@NotNull AdaptiveRefresh adaptiveRefresh() {
+            return this.adaptiveRefresh;
+        }
+
+        @Override
+        public Configuration.Status.@NotNull Fallback fallback() {
+            return this.fallback;
+        }
+
         @Override
         public Configuration.Status.@NotNull Replacement replacement() {
             return this.replacement;
@@ -211,6 +328,18 @@ public final class DummyConfiguration implements Configuration {
             this.inactivityTimeout = inactivityTimeout;
         }
 
+        public void setParallelFetching(final boolean parallelFetching) {
+            this.parallelFetching = parallelFetching;
+        }
+
+        public void setParallelFetchingTimeout(final long parallelFetchingTimeout) {
+            this.parallelFetchingTimeout = parallelFetchingTimeout;
+        }
+
+        public void setIndependentScheduling(final boolean independentScheduling) {
+            this.independentScheduling = independentScheduling;
+        }
+
         public void setSources(final List<Map<String, Object>> sources) {
             final List<StatusSource> list = new ArrayList<>(sources.size());
 
@@ -227,6 +356,11 @@ public final class DummyConfiguration implements Configuration {
                     builtSource = new CacheLayerSource(builtSource, cacheExpiration, cacheFailure);
                 }
 
+                final long refreshInterval = accessor.getLong("refresh-interval", -1L);
+                if (refreshInterval > 0) {
+                    builtSource = new RefreshIntervalSource(builtSource, refreshInterval);
+                }
+
                 list.add(builtSource);
             }
 
@@ -237,6 +371,14 @@ public final class DummyConfiguration implements Configuration {
             this.sources = Preconditions.requireNonNullEntries(sources, "sources");
         }
 
+        public void setAdaptiveRefresh(final AdaptiveRefresh adaptiveRefresh) {
+            this.adaptiveRefresh = adaptiveRefresh;
+        }
+
+        public void setFallback(final Fallback fallback) {
+            this.fallback = fallback;
+        }
+
         public void setReplacement(final Replacement replacement) {
             this.replacement = replacement;
         }
@@ -245,7 +387,100 @@ public final class DummyConfiguration implements Configuration {
         public String toString() {
             return "Status{" + "enabled=" + this.enabled + ", globalCacheExpiration=" + this.globalCacheExpiration + ", requestOnDemand=" +
                     this.requestOnDemand + ", parallelRequestOnDemand=" + this.parallelRequestOnDemand + ", inactivityTimeout=" +
-                    this.inactivityTimeout + ", sources=" + this.sources + '}';
+                    this.inactivityTimeout + ", parallelFetching=" + this.parallelFetching + ", parallelFetchingTimeout=" +
+                    this.parallelFetchingTimeout + ", independentScheduling=" + this.independentScheduling + ", sources=" +
+                    this.sources + ", adaptiveRefresh=" + this.adaptiveRefresh + ", fallback=" + this.fallback + '}';
+        }
+
+        public static final class AdaptiveRefresh implements Configuration.Status.AdaptiveRefresh {
+
+            private boolean enabled;
+            private long minInterval = 500L;
+            private long maxInterval = 10000L;
+            private int changeThreshold = 1;
+
+            @Override
+            public boolean enabled() {
+                return this.enabled;
+            }
+
+            @Override
+            public long minInterval() {
+                return this.minInterval;
+            }
+
+            @Override
+            public long maxInterval() {
+                return this.maxInterval;
+            }
+
+            @Override
+            public int changeThreshold() {
+                return this.changeThreshold;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setMinInterval(final long minInterval) {
+                this.minInterval = minInterval;
+            }
+
+            public void setMaxInterval(final long maxInterval) {
+                this.maxInterval = maxInterval;
+            }
+
+            public void setChangeThreshold(final int changeThreshold) {
+                this.changeThreshold = changeThreshold;
+            }
+
+            @Override
+            public String toString() {
+                return "AdaptiveRefresh{" + "enabled=" + this.enabled + ", minInterval=" + this.minInterval + ", maxInterval=" +
+                        this.maxInterval + ", changeThreshold=" + this.changeThreshold + '}';
+            }
+
+        }
+
+        public static final class Fallback implements Configuration.Status.Fallback {
+
+            private FallbackStrategy strategy = FallbackStrategy.EXCLUDE;
+            private long maxAge = 30000L;
+            private long decayHalfLife = 10000L;
+
+            @Override
+            public @NotNull FallbackStrategy strategy() {
+                return this.strategy;
+            }
+
+            @Override
+            public long maxAge() {
+                return this.maxAge;
+            }
+
+            @Override
+            public long decayHalfLife() {
+                return this.decayHalfLife;
+            }
+
+            public void setStrategy(final FallbackStrategy strategy) {
+                this.strategy = strategy;
+            }
+
+            public void setMaxAge(final long maxAge) {
+                this.maxAge = maxAge;
+            }
+
+            public void setDecayHalfLife(final long decayHalfLife) {
+                this.decayHalfLife = decayHalfLife;
+            }
+
+            @Override
+            public String toString() {
+                return "Fallback{" + "strategy=" + this.strategy + ", maxAge=" + this.maxAge + ", decayHalfLife=" + this.decayHalfLife + '}';
+            }
+
         }
 
         public static final class Replacement implements Configuration.Status.Replacement {
@@ -270,6 +505,50 @@ public final class DummyConfiguration implements Configuration {
 
     }
 
+    public static class Metrics implements Configuration.Metrics {
+
+        private boolean enabled;
+        private List<MetricsExporter> exporters = List.of();
+
+        @Override
+        public boolean enabled() {
+            return this.enabled;
+        }
+
+        @Override
+        public @NotNull List<MetricsExporter> exporters() {
+            return this.exporters;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setExporters(final List<Map<String, Object>> exporters) {
+            final List<MetricsExporter> list = new ArrayList<>(exporters.size());
+
+            for (final Map<String, Object> exporter : exporters) {
+                final MapTypeAccessor accessor = new MapTypeAccessor(exporter);
+                final String rawType = accessor.getString("type");
+                final MetricsExporterType type = MetricsExporterType.valueOf(rawType.toUpperCase());
+
+                list.add(type.create(accessor));
+            }
+
+            this.exporters = Collections.unmodifiableList(list);
+        }
+
+        public void setRawExporters(final @NotNull List<MetricsExporter> exporters) {
+            this.exporters = Preconditions.requireNonNullEntries(exporters, "exporters");
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" + "enabled=" + this.enabled + ", exporters=" + this.exporters + '}';
+        }
+
+    }
+
     public static class Redis implements Configuration.Redis {
 
         private RedisMode mode;
@@ -282,6 +561,10 @@ public final class DummyConfiguration implements Configuration {
         private Standalone standalone;
         private Sentinel sentinel;
         private Cluster cluster;
+        private ClientSideCaching clientSideCaching = new ClientSideCaching();
+        private Pool pool = new Pool();
+        private Startup startup = new Startup();
+        private AsyncExecution asyncExecution = new AsyncExecution();
 
         @Override
         public @NotNull RedisMode mode() {
@@ -333,6 +616,26 @@ public final class DummyConfiguration implements Configuration {
             return this.cluster;
         }
 
+        @Override
+        public Configuration.Redis.@NotNull ClientSideCaching clientSideCaching() {
+            return this.clientSideCaching;
+        }
+
+        @Override
+        public Configuration.Redis.@NotNull Pool pool() {
+            return this.pool;
+        }
+
+        @Override
+        public Configuration.Redis.@NotNull Startup startup() {
+            return this.startup;
+        }
+
+        @Override
+        public Configuration.Redis.@NotNull AsyncExecution asyncExecution() {
+            return this.asyncExecution;
+        }
+
         public void setMode(final RedisMode mode) {
             this.mode = mode;
         }
@@ -373,12 +676,29 @@ public final class DummyConfiguration implements Configuration {
             this.cluster = cluster;
         }
 
+        public void setClientSideCaching(final ClientSideCaching clientSideCaching) {
+            this.clientSideCaching = clientSideCaching;
+        }
+
+        public void setPool(final Pool pool) {
+            this.pool = pool;
+        }
+
+        public void setStartup(final Startup startup) {
+            this.startup = startup;
+        }
+
+        public void setAsyncExecution(final AsyncExecution asyncExecution) {
+            this.asyncExecution = asyncExecution;
+        }
+
         @Override
         public String toString() {
             return "Redis{" + "mode=" + this.mode + ", username='" + this.username + '\'' + ", password='" + this.password + '\'' +
                     ", database=" + this.database + ", timeoutMillis=" + this.timeoutMillis + ", maxAttempts=" + this.maxAttempts +
                     ", maxTotalRetriesDuration=" + this.maxTotalRetriesDuration + ", standalone=" + this.standalone + ", sentinel=" +
-                    this.sentinel + ", cluster=" + this.cluster + '}';
+                    this.sentinel + ", cluster=" + this.cluster + ", clientSideCaching=" + this.clientSideCaching + ", pool=" + this.pool +
+                    ", startup=" + this.startup + ", asyncExecution=" + this.asyncExecution + '}';
         }
 
         public static class Standalone implements Configuration.Redis.Standalone {
@@ -461,6 +781,199 @@ public final class DummyConfiguration implements Configuration {
 
         }
 
+        public static class ClientSideCaching implements Configuration.Redis.ClientSideCaching {
+
+            private boolean enabled;
+            private int maxSize = 1000;
+
+            @Override
+            public boolean enabled() {
+                return this.enabled;
+            }
+
+            @Override
+            public int maxSize() {
+                return this.maxSize;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setMaxSize(final int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            @Override
+            public String toString() {
+                return "ClientSideCaching{" + "enabled=" + this.enabled + ", maxSize=" + this.maxSize + '}';
+            }
+
+        }
+
+        public static class Pool implements Configuration.Redis.Pool {
+
+            private int maxTotal = 8;
+            private int maxIdle = 8;
+            private int minIdle = 1;
+            private long maxWaitMillis = -1L;
+            private boolean warmUp = true;
+            private boolean testOnBorrow;
+            private long healthCheckInterval = 30000L;
+            private long minEvictableIdleTime = 60000L;
+
+            @Override
+            public int maxTotal() {
+                return this.maxTotal;
+            }
+
+            @Override
+            public int maxIdle() {
+                return this.maxIdle;
+            }
+
+            @Override
+            public int minIdle() {
+                return this.minIdle;
+            }
+
+            @Override
+            public long maxWaitMillis() {
+                return this.maxWaitMillis;
+            }
+
+            @Override
+            public boolean warmUp() {
+                return this.warmUp;
+            }
+
+            @Override
+            public boolean testOnBorrow() {
+                return this.testOnBorrow;
+            }
+
+            @Override
+            public long healthCheckInterval() {
+                return this.healthCheckInterval;
+            }
+
+            @Override
+            public long minEvictableIdleTime() {
+                return this.minEvictableIdleTime;
+            }
+
+            public void setMaxTotal(final int maxTotal) {
+                this.maxTotal = maxTotal;
+            }
+
+            public void setMaxIdle(final int maxIdle) {
+                this.maxIdle = maxIdle;
+            }
+
+            public void setMinIdle(final int minIdle) {
+                this.minIdle = minIdle;
+            }
+
+            public void setMaxWaitMillis(final long maxWaitMillis) {
+                this.maxWaitMillis = maxWaitMillis;
+            }
+
+            public void setWarmUp(final boolean warmUp) {
+                this.warmUp = warmUp;
+            }
+
+            public void setTestOnBorrow(final boolean testOnBorrow) {
+                this.testOnBorrow = testOnBorrow;
+            }
+
+            public void setHealthCheckInterval(final long healthCheckInterval) {
+                this.healthCheckInterval = healthCheckInterval;
+            }
+
+            public void setMinEvictableIdleTime(final long minEvictableIdleTime) {
+                this.minEvictableIdleTime = minEvictableIdleTime;
+            }
+
+            @Override
+            public String toString() {
+                return "Pool{" + "maxTotal=" + this.maxTotal + ", maxIdle=" + this.maxIdle + ", minIdle=" + this.minIdle + ", maxWaitMillis=" +
+                        this.maxWaitMillis + ", warmUp=" + this.warmUp + ", testOnBorrow=" + this.testOnBorrow + ", healthCheckInterval=" +
+                        this.healthCheckInterval + ", minEvictableIdleTime=" + this.minEvictableIdleTime + '}';
+            }
+
+        }
+
+        public static class Startup implements Configuration.Redis.Startup {
+
+            private boolean async;
+            private long retryInterval = 5000L;
+
+            @Override
+            public boolean async() {
+                return this.async;
+            }
+
+            @Override
+            public long retryInterval() {
+                return this.retryInterval;
+            }
+
+            public void setAsync(final boolean async) {
+                this.async = async;
+            }
+
+            public void setRetryInterval(final long retryInterval) {
+                this.retryInterval = retryInterval;
+            }
+
+            @Override
+            public String toString() {
+                return "Startup{" + "async=" + this.async + ", retryInterval=" + this.retryInterval + '}';
+            }
+
+        }
+
+        public static class AsyncExecution implements Configuration.Redis.AsyncExecution {
+
+            private boolean enabled;
+            private int maxInFlight = 16;
+            private long commandTimeout = 5000L;
+
+            @Override
+            public boolean enabled() {
+                return this.enabled;
+            }
+
+            @Override
+            public int maxInFlight() {
+                return this.maxInFlight;
+            }
+
+            @Override
+            public long commandTimeout() {
+                return this.commandTimeout;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setMaxInFlight(final int maxInFlight) {
+                this.maxInFlight = maxInFlight;
+            }
+
+            public void setCommandTimeout(final long commandTimeout) {
+                this.commandTimeout = commandTimeout;
+            }
+
+            @Override
+            public String toString() {
+                return "AsyncExecution{" + "enabled=" + this.enabled + ", maxInFlight=" + this.maxInFlight + ", commandTimeout=" +
+                        this.commandTimeout + '}';
+            }
+
+        }
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.gossip;
+
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+// Datagram sent by gossip targets: magic, version, flags, network, server-id, sequence, online + 1 (0 when the server left),
+// expire-seconds, followed by the HMAC-SHA256 of all the previous bytes when signed
+public final class GossipPacket {
+
+    public static final int REMOVED = -1;
+    public static final int MAX_SIZE = 512;
+
+    private static final short MAGIC = 0x504F;
+    private static final byte VERSION = 2;
+    private static final byte FLAG_SIGNED = 0x01;
+    private static final int MAX_STRING_LENGTH = 128;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private final String serverId;
+    private final long sequence;
+    private final int online;
+    private final int expireSeconds;
+
+    private GossipPacket(final String serverId, final long sequence, final int online, final int expireSeconds) {
+        this.serverId = serverId;
+        this.sequence = sequence;
+        this.online = online;
+        this.expireSeconds = expireSeconds;
+    }
+
+    // Returns null when no secret is configured, the instance is not thread-safe
+    public static @Nullable Mac createMac(final @Nullable String secret) {
+        if (secret == null || secret.isEmpty()) {
+            return null;
+        }
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+            return mac;
+        } catch (final GeneralSecurityException exception) {
+            throw new IllegalStateException("Failed to initialize " + MAC_ALGORITHM, exception);
+        }
+    }
+
+    public static void encode(final @NotNull ByteBuffer buffer,
+                              final @NotNull String network,
+                              final @NotNull String serverId,
+                              final long sequence,
+                              final int online,
+                              final int expireSeconds,
+                              final @Nullable Mac mac) {
+        final int start = buffer.position();
+        buffer.putShort(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(mac != null ? FLAG_SIGNED : 0);
+        writeString(buffer, network);
+        writeString(buffer, serverId);
+        buffer.putLong(sequence);
+        VarInt.write(buffer, Math.max(online, REMOVED) + 1);
+        VarInt.write(buffer, Math.max(expireSeconds, 0));
+        if (mac != null) {
+            mac.update(buffer.array(), buffer.arrayOffset() + start, buffer.position() - start);
+            buffer.put(mac.doFinal());
+        }
+    }
+
+    // Returns null for packets of another network. When a mac is given, only packets signed with the same secret are accepted.
+    public static @Nullable GossipPacket decode(final @NotNull ByteBuffer buffer,
+                                                final @NotNull String network,
+                                                final @Nullable Mac mac) throws IOException {
+        final int start = buffer.position();
+        if (buffer.remaining() < 4 || buffer.getShort() != MAGIC) {
+            throw new IOException("Not a gossip packet");
+        }
+        final byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported gossip packet version: " + version);
+        }
+        final boolean signed = (buffer.get() & FLAG_SIGNED) != 0;
+        if (mac != null && !signed) {
+            throw new IOException("Unsigned gossip packet");
+        }
+        if (!network.equals(readString(buffer))) {
+            return null;
+        }
+        final String serverId = readString(buffer);
+        if (buffer.remaining() < Long.BYTES) {
+            throw new IOException("Truncated gossip packet");
+        }
+        final long sequence = buffer.getLong();
+        final int online = VarInt.read(buffer) - 1;
+        final int expireSeconds = VarInt.read(buffer);
+        if (mac != null) {
+            verify(buffer, start, mac);
+        }
+        if (online < REMOVED || expireSeconds < 0) {
+            throw new IOException("Invalid gossip packet values");
+        }
+        return new GossipPacket(serverId, sequence, online, expireSeconds);
+    }
+
+    private static void verify(final ByteBuffer buffer, final int start, final Mac mac) throws IOException {
+        if (buffer.remaining() != MAC_LENGTH) {
+            throw new IOException("Invalid gossip packet signature length");
+        }
+        mac.update(buffer.array(), buffer.arrayOffset() + start, buffer.position() - start);
+        final byte[] expected = mac.doFinal();
+        final byte[] actual = new byte[MAC_LENGTH];
+        buffer.get(actual);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IOException("Invalid gossip packet signature");
+        }
+    }
+
+    public static @NotNull InetSocketAddress parseAddress(final @NotNull String address) {
+        Objects.requireNonNull(address, "address must not be null");
+        final int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Address must be in host:port format: " + address);
+        }
+        String host = address.substring(0, separator);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        return new InetSocketAddress(host, Integer.parseInt(address.substring(separator + 1)));
+    }
+
+    private static void writeString(final ByteBuffer buffer, final String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String is too long for a gossip packet: " + string);
+        }
+        VarInt.write(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) throws IOException {
+        final int length = VarInt.read(buffer);
+        if (length < 0 || length > MAX_STRING_LENGTH || length > buffer.remaining()) {
+            throw new IOException("Invalid string length in gossip packet: " + length);
+        }
+        final String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    @Contract(pure = true)
+    public @NotNull String serverId() {
+        return this.serverId;
+    }
+
+    @Contract(pure = true)
+    public long sequence() {
+        return this.sequence;
+    }
+
+    @Contract(pure = true)
+    public int online() {
+        return this.online;
+    }
+
+    @Contract(pure = true)
+    public int expireSeconds() {
+        return this.expireSeconds;
+    }
+
+}
\ No newline at end of file
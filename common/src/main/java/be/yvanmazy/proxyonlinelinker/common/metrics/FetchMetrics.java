@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FetchMetrics {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private volatile int lastValue = -1;
+    private volatile long lastSuccess;
+
+    public FetchMetrics(final @NotNull String name) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+    }
+
+    public void recordSuccess(final long nanos, final int value) {
+        this.latency.record(nanos);
+        this.successes.increment();
+        this.lastValue = value;
+        this.lastSuccess = System.currentTimeMillis();
+    }
+
+    public void recordFailure(final long nanos) {
+        this.latency.record(nanos);
+        this.failures.increment();
+    }
+
+    @Contract(pure = true)
+    public @NotNull String name() {
+        return this.name;
+    }
+
+    @Contract(pure = true)
+    public @NotNull LatencyHistogram latency() {
+        return this.latency;
+    }
+
+    @Contract(pure = true)
+    public long successes() {
+        return this.successes.sum();
+    }
+
+    @Contract(pure = true)
+    public long failures() {
+        return this.failures.sum();
+    }
+
+    @Contract(pure = true)
+    public int lastValue() {
+        return this.lastValue;
+    }
+
+    @Contract(pure = true)
+    public long lastSuccess() {
+        return this.lastSuccess;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+            TimeUnit.MICROSECONDS.toNanos(500L),
+            TimeUnit.MILLISECONDS.toNanos(1L),
+            TimeUnit.MICROSECONDS.toNanos(2500L),
+            TimeUnit.MILLISECONDS.toNanos(5L),
+            TimeUnit.MILLISECONDS.toNanos(10L),
+            TimeUnit.MILLISECONDS.toNanos(25L),
+            TimeUnit.MILLISECONDS.toNanos(50L),
+            TimeUnit.MILLISECONDS.toNanos(100L),
+            TimeUnit.MILLISECONDS.toNanos(250L),
+            TimeUnit.MILLISECONDS.toNanos(500L),
+            TimeUnit.SECONDS.toNanos(1L),
+            TimeUnit.MILLISECONDS.toNanos(2500L),
+            TimeUnit.SECONDS.toNanos(5L),
+            TimeUnit.SECONDS.toNanos(10L)
+    };
+
+    // The last bucket counts values above every bound
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(final long nanos) {
+        int index = 0;
+        while (index < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[index]) {
+            index++;
+        }
+        this.buckets[index].increment();
+        this.sumNanos.add(nanos);
+    }
+
+    @Contract(pure = true)
+    public int bucketCount() {
+        return this.buckets.length;
+    }
+
+    @Contract(pure = true)
+    public long bucketBoundNanos(final int index) {
+        return index < BUCKET_BOUNDS_NANOS.length ? BUCKET_BOUNDS_NANOS[index] : Long.MAX_VALUE;
+    }
+
+    @Contract(pure = true)
+    public long bucketValue(final int index) {
+        return this.buckets[index].sum();
+    }
+
+    @Contract(pure = true)
+    public long sumNanos() {
+        return this.sumNanos.sum();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MetricsRegistry {
+
+    private final Map<String, FetchMetrics> sources = new ConcurrentHashMap<>();
+    private final Map<String, FetchMetrics> targets = new ConcurrentHashMap<>();
+
+    private volatile int statusOnline = -1;
+    private volatile long statusLastUpdate;
+
+    public @NotNull FetchMetrics source(final @NotNull String name) {
+        Objects.requireNonNull(name, "name must not be null");
+        return this.sources.computeIfAbsent(name, FetchMetrics::new);
+    }
+
+    public @NotNull FetchMetrics target(final @NotNull String name) {
+        Objects.requireNonNull(name, "name must not be null");
+        return this.targets.computeIfAbsent(name, FetchMetrics::new);
+    }
+
+    public void recordStatusUpdate(final int online) {
+        this.statusOnline = online;
+        this.statusLastUpdate = System.currentTimeMillis();
+    }
+
+    @Contract(pure = true)
+    public @Unmodifiable @NotNull Collection<FetchMetrics> sources() {
+        return Collections.unmodifiableCollection(this.sources.values());
+    }
+
+    @Contract(pure = true)
+    public @Unmodifiable @NotNull Collection<FetchMetrics> targets() {
+        return Collections.unmodifiableCollection(this.targets.values());
+    }
+
+    @Contract(pure = true)
+    public int statusOnline() {
+        return this.statusOnline;
+    }
+
+    @Contract(pure = true)
+    public long statusLastUpdate() {
+        return this.statusLastUpdate;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics.exporter;
+
+import be.yvanmazy.proxyonlinelinker.common.util.MapTypeAccessor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+public enum MetricsExporterType {
+
+    PROMETHEUS(accessor -> {
+        final String host = accessor.getString("host", "127.0.0.1");
+        final int port = accessor.getInt("port", 9464);
+        final String path = accessor.getString("path", "/metrics");
+        return new PrometheusExporter(host, port, path);
+    });
+
+    private final Function<MapTypeAccessor, MetricsExporter> factory;
+
+    MetricsExporterType(final Function<MapTypeAccessor, MetricsExporter> factory) {
+        this.factory = factory;
+    }
+
+    public @NotNull MetricsExporter create(final @NotNull MapTypeAccessor accessor) {
+        return this.factory.apply(Objects.requireNonNull(accessor, "accessor must not be null"));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics.exporter;
+
+import be.yvanmazy.proxyonlinelinker.common.metrics.FetchMetrics;
+import be.yvanmazy.proxyonlinelinker.common.metrics.LatencyHistogram;
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+
+public class PrometheusExporter implements MetricsExporter {
+
+    private static final String PREFIX = "proxyonlinelinker_";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final String host;
+    private final int port;
+    private final String path;
+
+    private HttpServer server;
+
+    public PrometheusExporter(final @NotNull String host, final int port, final @NotNull String path) {
+        this.host = Objects.requireNonNull(host, "host must not be null");
+        this.port = Preconditions.requirePort(port);
+        this.path = Preconditions.requireNonBlank(path, "path");
+    }
+
+    @Override
+    public void start(final @NotNull MetricsRegistry registry) throws IOException {
+        Objects.requireNonNull(registry, "registry must not be null");
+        this.server = HttpServer.create(new InetSocketAddress(this.host, this.port), 0);
+        this.server.createContext(this.path, exchange -> this.handle(exchange, registry));
+        this.server.start();
+    }
+
+    @Override
+    public void stop() {
+        if (this.server != null) {
+            this.server.stop(0);
+        }
+    }
+
+    @Override
+    public @NotNull MetricsExporterType type() {
+        return MetricsExporterType.PROMETHEUS;
+    }
+
+    private void handle(final HttpExchange exchange, final MetricsRegistry registry) throws IOException {
+        try (exchange) {
+            final byte[] body = format(registry).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    static @NotNull String format(final @NotNull MetricsRegistry registry) {
+        final StringBuilder builder = new StringBuilder(4096);
+        appendFetchMetrics(builder, "source_fetch", "source", "status source fetches", registry.sources());
+        appendFetchMetrics(builder, "target_broadcast", "target", "broadcasts", registry.targets());
+
+        final long lastUpdate = registry.statusLastUpdate();
+        appendHeader(builder, "status_online", "gauge", "Cached online count returned to pings.");
+        builder.append(PREFIX).append("status_online ").append(registry.statusOnline()).append('\n');
+        appendHeader(builder, "status_age_seconds", "gauge", "Seconds since the cached online count was last refreshed.");
+        builder.append(PREFIX).append("status_age_seconds ");
+        if (lastUpdate > 0L) {
+            builder.append(seconds((System.currentTimeMillis() - lastUpdate) * 1_000_000L));
+        } else {
+            builder.append("NaN");
+        }
+        builder.append('\n');
+        return builder.toString();
+    }
+
+    private static void appendFetchMetrics(final StringBuilder builder,
+                                           final String metric,
+                                           final String label,
+                                           final String description,
+                                           final Collection<FetchMetrics> metrics) {
+        appendHeader(builder, metric + "_duration_seconds", "histogram", "Duration of " + description + ".");
+        for (final FetchMetrics entry : metrics) {
+            final String labels = label + "=\"" + escape(entry.name()) + '"';
+            final LatencyHistogram latency = entry.latency();
+            long cumulative = 0L;
+            for (int i = 0; i < latency.bucketCount(); i++) {
+                cumulative += latency.bucketValue(i);
+                final long bound = latency.bucketBoundNanos(i);
+                builder.append(PREFIX).append(metric).append("_duration_seconds_bucket{").append(labels).append(",le=\"")
+                        .append(bound == Long.MAX_VALUE ? "+Inf" : seconds(bound)).append("\"} ").append(cumulative).append('\n');
+            }
+            builder.append(PREFIX).append(metric).append("_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(latency.sumNanos())).append('\n');
+            builder.append(PREFIX).append(metric).append("_duration_seconds_count{").append(labels).append("} ")
+                    .append(cumulative).append('\n');
+        }
+
+        appendHeader(builder, metric + "_total", "counter", "Number of " + description + " by result.");
+        for (final FetchMetrics entry : metrics) {
+            final String labels = label + "=\"" + escape(entry.name()) + '"';
+            builder.append(PREFIX).append(metric).append("_total{").append(labels).append(",result=\"success\"} ")
+                    .append(entry.successes()).append('\n');
+            builder.append(PREFIX).append(metric).append("_total{").append(labels).append(",result=\"failure\"} ")
+                    .append(entry.failures()).append('\n');
+        }
+
+        appendHeader(builder, metric + "_last_value", "gauge", "Last online count of successful " + description + ".");
+        for (final FetchMetrics entry : metrics) {
+            builder.append(PREFIX).append(metric).append("_last_value{").append(label).append("=\"").append(escape(entry.name()))
+                    .append("\"} ").append(entry.lastValue()).append('\n');
+        }
+
+        // The staleness of each one is time() minus this gauge
+        appendHeader(builder, metric + "_last_success_timestamp_seconds", "gauge", "Unix time of the last successful " + description + ".");
+        for (final FetchMetrics entry : metrics) {
+            final long lastSuccess = entry.lastSuccess();
+            builder.append(PREFIX).append(metric).append("_last_success_timestamp_seconds{").append(label).append("=\"")
+                    .append(escape(entry.name())).append("\"} ").append(lastSuccess > 0L ? seconds(lastSuccess * 1_000_000L) : "NaN")
+                    .append('\n');
+        }
+    }
+
+    private static void appendHeader(final StringBuilder builder, final String metric, final String type, final String help) {
+        builder.append("# HELP ").append(PREFIX).append(metric).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(PREFIX).append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static String seconds(final long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0D);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
\ No newline at end of file
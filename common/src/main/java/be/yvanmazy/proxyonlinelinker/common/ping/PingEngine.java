@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.ping;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class PingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PingEngine.class);
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Exchange> pendingExchanges = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private volatile boolean running = true;
+
+    public PingEngine() throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this::run, "ProxyOnlineLinker Ping Engine");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public @NotNull CompletableFuture<Integer> ping(final @NotNull InetSocketAddress address,
+                                                    final byte @NotNull [] request,
+                                                    final int timeout,
+                                                    final @NotNull StatusResponseDecoder decoder) {
+        Objects.requireNonNull(address, "address must not be null");
+        Objects.requireNonNull(request, "request must not be null");
+        Objects.requireNonNull(decoder, "decoder must not be null");
+        final long deadline = timeout > 0 ? System.nanoTime() + timeout * 1_000_000L : Long.MAX_VALUE;
+        decoder.reset();
+        final Exchange exchange = new Exchange(address, ByteBuffer.wrap(request), deadline, decoder);
+        if (!this.running) {
+            exchange.future.completeExceptionally(new IllegalStateException("Ping engine is stopped"));
+            return exchange.future;
+        }
+        this.pendingExchanges.add(exchange);
+        this.selector.wakeup();
+        return exchange.future;
+    }
+
+    public void stop() {
+        this.running = false;
+        this.selector.wakeup();
+        try {
+            this.thread.join(1000L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (this.running) {
+                this.registerPendingExchanges();
+                final long timeout = this.expireExchanges();
+                if (timeout > 0L) {
+                    this.selector.select(timeout);
+                } else {
+                    this.selector.select();
+                }
+                final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    final SelectionKey key = iterator.next();
+                    iterator.remove();
+                    this.handle(key);
+                }
+            }
+        } catch (final IOException | ClosedSelectorException e) {
+            LOGGER.error("Ping engine stopped unexpectedly", e);
+        } finally {
+            this.running = false;
+            this.closeAll();
+        }
+    }
+
+    private void registerPendingExchanges() {
+        Exchange exchange;
+        while ((exchange = this.pendingExchanges.poll()) != null) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                final boolean connected = channel.connect(exchange.address);
+                channel.register(this.selector, connected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, exchange);
+                exchange.channel = channel;
+            } catch (final IOException | RuntimeException e) {
+                closeQuietly(channel);
+                exchange.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private long expireExchanges() {
+        final long now = System.nanoTime();
+        long nextDeadline = Long.MAX_VALUE;
+        for (final SelectionKey key : this.selector.keys()) {
+            if (!(key.attachment() instanceof final Exchange exchange)) {
+                continue;
+            }
+            if (exchange.deadline - now <= 0L) {
+                this.fail(key, exchange, new SocketTimeoutException("Ping timed out"));
+            } else if (exchange.deadline < nextDeadline) {
+                nextDeadline = exchange.deadline;
+            }
+        }
+        if (nextDeadline == Long.MAX_VALUE) {
+            return 0L;
+        }
+        return Math.max(1L, (nextDeadline - now) / 1_000_000L);
+    }
+
+    private void handle(final SelectionKey key) {
+        final Exchange exchange = (Exchange) key.attachment();
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isConnectable()) {
+                exchange.channel.finishConnect();
+                key.interestOps(SelectionKey.OP_WRITE);
+            }
+            if (key.isValid() && key.isWritable()) {
+                exchange.channel.write(exchange.request);
+                if (!exchange.request.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            }
+            if (key.isValid() && key.isReadable()) {
+                this.read(key, exchange);
+            }
+        } catch (final IOException | RuntimeException e) {
+            // Only this exchange fails, the engine thread must keep serving the others
+            this.fail(key, exchange, e);
+        }
+    }
+
+    private void read(final SelectionKey key, final Exchange exchange) throws IOException {
+        final ByteBuffer buffer = this.readBuffer;
+        buffer.clear();
+        final int read = exchange.channel.read(buffer);
+        if (read < 0) {
+            throw new EOFException("Connection closed before status response");
+        }
+        buffer.flip();
+        exchange.decoder.feed(buffer);
+        if (exchange.decoder.isDone()) {
+            key.cancel();
+            closeQuietly(exchange.channel);
+            exchange.future.complete(exchange.decoder.getOnline());
+        }
+    }
+
+    private void fail(final SelectionKey key, final Exchange exchange, final Throwable throwable) {
+        key.cancel();
+        closeQuietly(exchange.channel);
+        exchange.future.completeExceptionally(throwable);
+    }
+
+    private void closeAll() {
+        Exchange exchange;
+        while ((exchange = this.pendingExchanges.poll()) != null) {
+            exchange.future.completeExceptionally(new IllegalStateException("Ping engine is stopped"));
+        }
+        try {
+            for (final SelectionKey key : this.selector.keys()) {
+                if (key.attachment() instanceof final Exchange pending) {
+                    this.fail(key, pending, new IllegalStateException("Ping engine is stopped"));
+                }
+            }
+            this.selector.close();
+        } catch (final IOException | ClosedSelectorException e) {
+            LOGGER.warn("Failed to close ping engine selector", e);
+        }
+    }
+
+    private static void closeQuietly(final SocketChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private static final class Exchange {
+
+        private final InetSocketAddress address;
+        private final ByteBuffer request;
+        private final long deadline;
+        private final StatusResponseDecoder decoder;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private SocketChannel channel;
+
+        private Exchange(final InetSocketAddress address,
+                         final ByteBuffer request,
+                         final long deadline,
+                         final StatusResponseDecoder decoder) {
+            this.address = address;
+            this.request = request;
+            this.deadline = deadline;
+            this.decoder = decoder;
+        }
+
+    }
+
+}
\ No newline at end of file
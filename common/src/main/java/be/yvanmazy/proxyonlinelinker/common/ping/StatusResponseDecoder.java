@@ -0,0 +1,319 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.ping;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class StatusResponseDecoder {
+
+    private static final byte[] PLAYERS_KEY = {'p', 'l', 'a', 'y', 'e', 'r', 's'};
+    private static final byte[] ONLINE_KEY = {'o', 'n', 'l', 'i', 'n', 'e'};
+
+    private static final int STATE_FRAME_LENGTH = 0;
+    private static final int STATE_PACKET_ID = 1;
+    private static final int STATE_JSON_LENGTH = 2;
+    private static final int STATE_JSON = 3;
+    private static final int STATE_SKIP = 4;
+    private static final int STATE_DONE = 5;
+
+    private static final int KEY_NONE = 0;
+    private static final int KEY_PLAYERS = 1;
+    private static final int KEY_ONLINE = 2;
+
+    private final int maxJsonLength;
+
+    // Frame state
+    private int state;
+    private int varIntValue;
+    private int varIntPosition;
+    private int frameRemaining;
+    private int jsonRemaining;
+    private int online;
+
+    // JSON scanner state, only "players.online" is extracted, everything else is skipped
+    private int depth;
+    private boolean objectAtDepth1;
+    private boolean objectAtDepth2;
+    private boolean inPlayers;
+    private boolean expectKey;
+    private boolean inString;
+    private boolean escaped;
+    private byte[] keyTarget;
+    private int keyPosition;
+    private int stringKey;
+    private int valueKey;
+    private boolean inNumber;
+    private long number;
+
+    public StatusResponseDecoder(final int maxJsonLength) {
+        this.maxJsonLength = maxJsonLength;
+        this.reset();
+    }
+
+    public void reset() {
+        this.state = STATE_FRAME_LENGTH;
+        this.varIntValue = 0;
+        this.varIntPosition = 0;
+        this.frameRemaining = 0;
+        this.jsonRemaining = 0;
+        this.online = -1;
+        this.depth = 0;
+        this.objectAtDepth1 = false;
+        this.objectAtDepth2 = false;
+        this.inPlayers = false;
+        this.expectKey = false;
+        this.inString = false;
+        this.escaped = false;
+        this.keyTarget = null;
+        this.keyPosition = 0;
+        this.stringKey = KEY_NONE;
+        this.valueKey = KEY_NONE;
+        this.inNumber = false;
+        this.number = 0L;
+    }
+
+    public void feed(final @NotNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && this.state != STATE_DONE) {
+            this.consume(buffer.get());
+        }
+    }
+
+    public void feed(final byte @NotNull [] buffer, final int offset, final int length) throws IOException {
+        final int end = offset + length;
+        for (int i = offset; i < end && this.state != STATE_DONE; i++) {
+            this.consume(buffer[i]);
+        }
+    }
+
+    @Contract(pure = true)
+    public boolean isDone() {
+        return this.state >= STATE_SKIP;
+    }
+
+    @Contract(pure = true)
+    public boolean isFrameConsumed() {
+        return this.state == STATE_DONE;
+    }
+
+    @Contract(pure = true)
+    public int getOnline() {
+        return this.online;
+    }
+
+    private void consume(final byte read) throws IOException {
+        if (this.state != STATE_FRAME_LENGTH) {
+            this.frameRemaining--;
+        }
+        switch (this.state) {
+            case STATE_JSON -> {
+                this.jsonRemaining--;
+                this.scan(read);
+                if (this.state == STATE_JSON && this.jsonRemaining == 0) {
+                    this.complete(this.inNumber ? this.numberValue() : -1);
+                }
+            }
+            case STATE_SKIP -> {
+                if (this.frameRemaining <= 0) {
+                    this.state = STATE_DONE;
+                }
+            }
+            default -> this.feedVarInt(read);
+        }
+    }
+
+    private void feedVarInt(final byte read) throws IOException {
+        this.varIntValue |= (read & 0x7F) << (7 * this.varIntPosition++);
+        if ((read & 0x80) != 0) {
+            if (this.varIntPosition >= 5) {
+                throw new IOException("VarInt too long");
+            }
+            return;
+        }
+        final int value = this.varIntValue;
+        this.varIntValue = 0;
+        this.varIntPosition = 0;
+
+        switch (this.state) {
+            case STATE_FRAME_LENGTH -> {
+                if (value <= 0) {
+                    throw new IOException("Invalid packet length=" + value);
+                }
+                this.frameRemaining = value;
+                this.state = STATE_PACKET_ID;
+            }
+            case STATE_PACKET_ID -> {
+                if (value != 0x00) { // Expected packet ID
+                    throw new IOException("Unexpected packet ID=" + value);
+                }
+                this.state = STATE_JSON_LENGTH;
+            }
+            case STATE_JSON_LENGTH -> {
+                if (value < 0 || value > this.maxJsonLength) {
+                    throw new IOException("JSON length too long=" + value);
+                }
+                if (value > this.frameRemaining) {
+                    throw new IOException("JSON length exceeds packet length=" + value);
+                }
+                this.jsonRemaining = value;
+                this.state = STATE_JSON;
+                if (value == 0) {
+                    this.complete(-1);
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected state: " + this.state);
+        }
+    }
+
+    private void scan(final byte read) throws IOException {
+        if (this.inString) {
+            this.scanString(read);
+            return;
+        }
+        if (this.inNumber) {
+            if (read >= '0' && read <= '9') {
+                this.number = this.number * 10L + (read - '0');
+                if (this.number > Integer.MAX_VALUE) {
+                    throw new IOException("Online count too large");
+                }
+                return;
+            }
+            this.complete(this.numberValue());
+            return;
+        }
+        switch (read) {
+            case ' ', '\t', '\n', '\r' -> {
+            }
+            case '"' -> this.startString();
+            case ':' -> {
+                this.valueKey = this.stringKey;
+                this.stringKey = KEY_NONE;
+                this.expectKey = false;
+            }
+            case ',' -> {
+                this.valueKey = KEY_NONE;
+                this.expectKey = this.isObject(this.depth);
+            }
+            case '{', '[' -> this.openContainer(read == '{');
+            case '}', ']' -> {
+                if (this.depth == 2 && this.inPlayers) {
+                    this.inPlayers = false;
+                }
+                this.depth--;
+                this.valueKey = KEY_NONE;
+            }
+            default -> {
+                if (this.valueKey == KEY_ONLINE) {
+                    if (read < '0' || read > '9') {
+                        throw new IOException("Invalid online count");
+                    }
+                    this.inNumber = true;
+                    this.number = read - '0';
+                }
+                this.valueKey = KEY_NONE;
+            }
+        }
+    }
+
+    private void startString() throws IOException {
+        this.inString = true;
+        this.stringKey = KEY_NONE;
+        this.keyPosition = 0;
+        this.keyTarget = null;
+        if (this.valueKey == KEY_ONLINE) {
+            throw new IOException("Invalid online count");
+        }
+        this.valueKey = KEY_NONE;
+        if (!this.expectKey) {
+            return;
+        }
+        if (this.depth == 1) {
+            this.keyTarget = PLAYERS_KEY;
+        } else if (this.depth == 2 && this.inPlayers) {
+            this.keyTarget = ONLINE_KEY;
+        }
+    }
+
+    private void scanString(final byte read) {
+        if (this.escaped) {
+            this.escaped = false;
+            return;
+        }
+        if (read == '\\') {
+            this.escaped = true;
+            this.keyTarget = null; // Escaped keys are never the one we are looking for
+            return;
+        }
+        if (read == '"') {
+            this.inString = false;
+            if (this.keyTarget != null && this.keyPosition == this.keyTarget.length) {
+                this.stringKey = this.keyTarget == PLAYERS_KEY ? KEY_PLAYERS : KEY_ONLINE;
+            }
+            this.keyTarget = null;
+            return;
+        }
+        if (this.keyTarget != null) {
+            if (this.keyPosition < this.keyTarget.length && this.keyTarget[this.keyPosition] == read) {
+                this.keyPosition++;
+            } else {
+                this.keyTarget = null;
+            }
+        }
+    }
+
+    private void openContainer(final boolean object) {
+        this.depth++;
+        if (this.depth == 1) {
+            this.objectAtDepth1 = object;
+        } else if (this.depth == 2) {
+            this.objectAtDepth2 = object;
+            this.inPlayers = object && this.valueKey == KEY_PLAYERS;
+        }
+        this.expectKey = object;
+        this.valueKey = KEY_NONE;
+    }
+
+    private boolean isObject(final int depth) {
+        return switch (depth) {
+            case 1 -> this.objectAtDepth1;
+            case 2 -> this.objectAtDepth2;
+            default -> false;
+        };
+    }
+
+    private int numberValue() {
+        return (int) this.number;
+    }
+
+    private void complete(final int online) {
+        this.online = online;
+        this.inNumber = false;
+        this.state = this.frameRemaining <= 0 ? STATE_DONE : STATE_SKIP;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,304 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.query;
+
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Queries the servers with the GameSpy4 (Minecraft query) protocol from a single UDP socket and thread
+public class QueryEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryEngine.class);
+
+    private static final byte TYPE_HANDSHAKE = 9;
+    private static final byte TYPE_STAT = 0;
+    private static final int SESSION_MASK = 0x0F0F0F0F;
+    private static final int BUFFER_SIZE = 1500;
+    // Servers renew their challenge token every 30 seconds
+    private static final long CHALLENGE_LIFETIME = 25_000_000_000L;
+
+    private final Selector selector;
+    private final DatagramChannel channel;
+    private final Thread thread;
+    private final Queue<Exchange> pendingExchanges = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    // Only accessed by the engine thread
+    private final Map<Integer, Exchange> exchanges = new HashMap<>();
+    private final Map<SocketAddress, Challenge> challenges = new HashMap<>();
+    private int nextSession;
+
+    private volatile boolean running = true;
+
+    public QueryEngine() throws IOException {
+        this.selector = Selector.open();
+        this.channel = DatagramChannel.open();
+        try {
+            this.channel.bind(null);
+            this.channel.configureBlocking(false);
+            this.channel.register(this.selector, SelectionKey.OP_READ);
+        } catch (final IOException exception) {
+            this.channel.close();
+            this.selector.close();
+            throw exception;
+        }
+        this.thread = new Thread(this::run, "ProxyOnlineLinker Query Engine");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public @NotNull CompletableFuture<Integer> query(final @NotNull InetSocketAddress address, final int timeout) {
+        Objects.requireNonNull(address, "address must not be null");
+        // Datagrams can be lost, an exchange without deadline could stay pending forever
+        Preconditions.checkRange(timeout, 1L, Integer.MAX_VALUE, "timeout");
+        final long deadline = System.nanoTime() + timeout * 1_000_000L;
+        final Exchange exchange = new Exchange(address, deadline);
+        if (address.isUnresolved()) {
+            exchange.future.completeExceptionally(new UnknownHostException(address.getHostString()));
+            return exchange.future;
+        }
+        if (!this.running) {
+            exchange.future.completeExceptionally(new IllegalStateException("Query engine is stopped"));
+            return exchange.future;
+        }
+        this.pendingExchanges.add(exchange);
+        this.selector.wakeup();
+        return exchange.future;
+    }
+
+    public void stop() {
+        this.running = false;
+        this.selector.wakeup();
+        try {
+            this.thread.join(1000L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (this.running) {
+                // All the queries requested since the last round are sent in one burst
+                this.sendPendingExchanges();
+                final long timeout = this.expireExchanges();
+                if (timeout > 0L) {
+                    this.selector.select(timeout);
+                } else {
+                    this.selector.select();
+                }
+                this.selector.selectedKeys().clear();
+                this.receive();
+            }
+        } catch (final IOException | ClosedSelectorException e) {
+            LOGGER.error("Query engine stopped unexpectedly", e);
+        } finally {
+            this.running = false;
+            this.closeAll();
+        }
+    }
+
+    private void sendPendingExchanges() {
+        final long now = System.nanoTime();
+        Exchange exchange;
+        while ((exchange = this.pendingExchanges.poll()) != null) {
+            exchange.session = this.allocateSession();
+            this.exchanges.put(exchange.session, exchange);
+            final Challenge challenge = this.challenges.get(exchange.address);
+            if (challenge != null && now - challenge.time < CHALLENGE_LIFETIME) {
+                exchange.usedCachedChallenge = true;
+                this.send(exchange, TYPE_STAT, challenge.token);
+            } else {
+                this.send(exchange, TYPE_HANDSHAKE, 0);
+            }
+        }
+    }
+
+    private int allocateSession() {
+        int session;
+        do {
+            session = this.nextSession++ & SESSION_MASK;
+        } while (this.exchanges.containsKey(session));
+        return session;
+    }
+
+    private void send(final Exchange exchange, final byte type, final int token) {
+        final ByteBuffer buffer = this.buffer;
+        buffer.clear();
+        buffer.put((byte) 0xFE).put((byte) 0xFD).put(type).putInt(exchange.session);
+        if (type == TYPE_STAT) {
+            buffer.putInt(token);
+        }
+        buffer.flip();
+        try {
+            if (this.channel.send(buffer, exchange.address) == 0) {
+                throw new IOException("Socket send buffer is full");
+            }
+        } catch (final IOException e) {
+            this.fail(exchange, e);
+        }
+    }
+
+    private void receive() throws IOException {
+        final ByteBuffer buffer = this.buffer;
+        while (true) {
+            buffer.clear();
+            final SocketAddress sender = this.channel.receive(buffer);
+            if (sender == null) {
+                return;
+            }
+            buffer.flip();
+            if (buffer.remaining() < 5) {
+                continue;
+            }
+            final byte type = buffer.get();
+            final Exchange exchange = this.exchanges.get(buffer.getInt());
+            if (exchange == null) {
+                continue;
+            }
+            try {
+                if (type == TYPE_HANDSHAKE) {
+                    final int token = (int) Long.parseLong(readString(buffer));
+                    this.challenges.put(exchange.address, new Challenge(token, System.nanoTime()));
+                    this.send(exchange, TYPE_STAT, token);
+                } else if (type == TYPE_STAT) {
+                    // MOTD, game type and map precede the player count
+                    for (int i = 0; i < 3; i++) {
+                        readString(buffer);
+                    }
+                    this.exchanges.remove(exchange.session);
+                    exchange.future.complete(Integer.parseInt(readString(buffer)));
+                }
+            } catch (final IOException | NumberFormatException e) {
+                this.fail(exchange, e);
+            }
+        }
+    }
+
+    private long expireExchanges() {
+        final long now = System.nanoTime();
+        long nextDeadline = Long.MAX_VALUE;
+        final Iterator<Exchange> iterator = this.exchanges.values().iterator();
+        while (iterator.hasNext()) {
+            final Exchange exchange = iterator.next();
+            if (exchange.deadline - now <= 0L) {
+                iterator.remove();
+                if (exchange.usedCachedChallenge) {
+                    // Servers ignore an outdated token, for example after a restart
+                    this.challenges.remove(exchange.address);
+                }
+                exchange.future.completeExceptionally(new SocketTimeoutException("Query timed out"));
+            } else if (exchange.deadline < nextDeadline) {
+                nextDeadline = exchange.deadline;
+            }
+        }
+        if (nextDeadline == Long.MAX_VALUE) {
+            return 0L;
+        }
+        return Math.max(1L, (nextDeadline - now) / 1_000_000L);
+    }
+
+    private void fail(final Exchange exchange, final Throwable throwable) {
+        this.exchanges.remove(exchange.session);
+        exchange.future.completeExceptionally(throwable);
+    }
+
+    private void closeAll() {
+        final IllegalStateException stopped = new IllegalStateException("Query engine is stopped");
+        Exchange exchange;
+        while ((exchange = this.pendingExchanges.poll()) != null) {
+            exchange.future.completeExceptionally(stopped);
+        }
+        for (final Exchange pending : this.exchanges.values()) {
+            pending.future.completeExceptionally(stopped);
+        }
+        this.exchanges.clear();
+        try {
+            this.channel.close();
+            this.selector.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close query engine", e);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) throws IOException {
+        final int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (buffer.get() == 0) {
+                final int end = buffer.position() - 1;
+                final byte[] bytes = new byte[end - start];
+                buffer.get(start, bytes);
+                return new String(bytes, StandardCharsets.ISO_8859_1);
+            }
+        }
+        throw new IOException("Query response truncated");
+    }
+
+    private static final class Exchange {
+
+        private final InetSocketAddress address;
+        private final long deadline;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private int session;
+        private boolean usedCachedChallenge;
+
+        private Exchange(final InetSocketAddress address, final long deadline) {
+            this.address = address;
+            this.deadline = deadline;
+        }
+
+    }
+
+    private static final class Challenge {
+
+        private final int token;
+        private final long time;
+
+        private Challenge(final int token, final long time) {
+            this.token = token;
+            this.time = time;
+        }
+
+    }
+
+}
\ No newline at end of file
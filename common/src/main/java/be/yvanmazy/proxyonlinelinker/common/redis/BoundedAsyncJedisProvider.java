@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.redis;
+
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class BoundedAsyncJedisProvider implements AsyncJedisProvider {
+
+    private final JedisProvider delegate;
+    private final Semaphore permits;
+    private final long commandTimeout;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedAsyncJedisProvider(final @NotNull JedisProvider delegate,
+                                     final @Range(from = 1L, to = Integer.MAX_VALUE) int maxInFlight,
+                                     final @Range(from = 1L, to = Long.MAX_VALUE) long commandTimeout) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        Preconditions.checkRange(maxInFlight, 1L, Integer.MAX_VALUE, "maxInFlight");
+        Preconditions.checkRange(commandTimeout, 1L, Long.MAX_VALUE, "commandTimeout");
+        this.permits = new Semaphore(maxInFlight);
+        this.commandTimeout = commandTimeout;
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "ProxyOnlineLinker Redis Worker #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public <T> @NotNull CompletableFuture<T> submit(final @NotNull Function<UnifiedJedis, T> command) {
+        Objects.requireNonNull(command, "command must not be null");
+        if (!this.permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many in-flight Redis commands"));
+        }
+        final CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> command.apply(this.delegate.getJedis()), this.executor);
+        } catch (final RejectedExecutionException exception) {
+            this.permits.release();
+            return CompletableFuture.failedFuture(exception);
+        }
+        // A timed out command keeps its permit until Jedis gives up, so a slow node cannot pile up commands
+        future.whenComplete((result, throwable) -> this.permits.release());
+        return future.copy().orTimeout(this.commandTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public @NotNull UnifiedJedis getJedis() {
+        return this.delegate.getJedis();
+    }
+
+    @Override
+    public void stop() {
+        this.executor.shutdownNow();
+        this.delegate.stop();
+    }
+
+}
\ No newline at end of file
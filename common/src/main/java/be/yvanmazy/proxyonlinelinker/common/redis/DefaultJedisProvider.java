@@ -26,68 +26,196 @@ package be.yvanmazy.proxyonlinelinker.common.redis;
 
 import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionPoolConfig;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.RedisProtocol;
 import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConfig;
+import redis.clients.jedis.csc.CacheFactory;
 import redis.clients.jedis.providers.ClusterConnectionProvider;
 import redis.clients.jedis.providers.ConnectionProvider;
 import redis.clients.jedis.providers.PooledConnectionProvider;
 import redis.clients.jedis.providers.SentineledConnectionProvider;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DefaultJedisProvider implements JedisProvider {
 
-    private final UnifiedJedis unifiedJedis;
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultJedisProvider.class);
+
+    private final Configuration.Redis configuration;
+    private volatile UnifiedJedis unifiedJedis;
+
+    private Thread connector;
+    private boolean stopped;
 
-    @SuppressWarnings("resource")
     public DefaultJedisProvider(final Configuration.Redis configuration) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration must not be null");
+        if (configuration.startup().async()) {
+            // Commands fail until connected, the plugin keeps running while Redis is unreachable
+            this.connector = new Thread(this::connectLoop, "ProxyOnlineLinker Redis Connector");
+            this.connector.setDaemon(true);
+            this.connector.start();
+        } else {
+            this.unifiedJedis = this.connect();
+        }
+    }
+
+    private void connectLoop() {
+        final long retryInterval = this.configuration.startup().retryInterval();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final UnifiedJedis jedis = this.connect();
+                synchronized (this) {
+                    if (this.stopped) {
+                        jedis.close();
+                    } else {
+                        this.unifiedJedis = jedis;
+                        LOGGER.info("Connected to Redis");
+                    }
+                }
+                return;
+            } catch (final RuntimeException exception) {
+                synchronized (this) {
+                    if (this.stopped) {
+                        return;
+                    }
+                }
+                LOGGER.warn("Failed to connect to Redis, retrying in {}ms", retryInterval, exception);
+            }
+            try {
+                Thread.sleep(retryInterval);
+            } catch (final InterruptedException exception) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("resource")
+    private @NotNull UnifiedJedis connect() {
+        final Configuration.Redis configuration = this.configuration;
+        final Configuration.Redis.ClientSideCaching caching = configuration.clientSideCaching();
         final JedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
                 .user(configuration.username().isBlank() ? null : configuration.username())
                 .password(configuration.password().isBlank() ? null : configuration.password())
                 .database(configuration.database())
                 .timeoutMillis(configuration.timeoutMillis())
+                // Server-assisted invalidation requires RESP3, the default protocol is kept otherwise
+                .protocol(caching.enabled() ? RedisProtocol.RESP3 : null)
                 .build();
 
+        final Cache cache = caching.enabled() ? CacheFactory.getCache(CacheConfig.builder().maxSize(caching.maxSize()).build()) : null;
+        final ConnectionPoolConfig poolConfig = createPoolConfig(configuration.pool());
+
+        // Sentinel and cluster providers already contact the servers here and throw if none is reachable
         final ConnectionProvider connectionProvider = switch (configuration.mode()) {
             case STANDALONE -> {
                 final Configuration.Redis.Standalone standalone = configuration.standalone();
                 final HostAndPort hostAndPort = new HostAndPort(standalone.host(), standalone.port());
-                yield new PooledConnectionProvider(hostAndPort, clientConfig);
+                yield cache != null ?
+                        new PooledConnectionProvider(hostAndPort, clientConfig, cache, poolConfig) :
+                        new PooledConnectionProvider(hostAndPort, clientConfig, poolConfig);
             }
             case SENTINEL -> {
                 final Configuration.Redis.Sentinel sentinel = configuration.sentinel();
                 final Set<HostAndPort> sentinels = sentinel.sentinels().stream().map(HostAndPort::from).collect(Collectors.toSet());
-                yield new SentineledConnectionProvider(sentinel.masterName(), clientConfig, sentinels, clientConfig);
+                yield cache != null ?
+                        new SentineledConnectionProvider(sentinel.masterName(), clientConfig, cache, poolConfig, sentinels, clientConfig) :
+                        new SentineledConnectionProvider(sentinel.masterName(), clientConfig, poolConfig, sentinels, clientConfig);
             }
             case CLUSTER -> {
                 final Configuration.Redis.Cluster cluster = configuration.cluster();
                 final Set<HostAndPort> nodes = cluster.clusterNodes().stream().map(HostAndPort::from).collect(Collectors.toSet());
-                yield new ClusterConnectionProvider(nodes, clientConfig);
+                yield cache != null ?
+                        new ClusterConnectionProvider(nodes, clientConfig, cache, poolConfig) :
+                        new ClusterConnectionProvider(nodes, clientConfig, poolConfig);
             }
         };
 
         final int maxAttempts = configuration.maxAttempts();
         final Duration maxTotalRetriesDuration = Duration.ofMillis(configuration.maxTotalRetriesDuration());
 
-        this.unifiedJedis = new UnifiedJedis(connectionProvider, maxAttempts, maxTotalRetriesDuration);
+        final UnifiedJedis jedis = new UnifiedJedis(connectionProvider, maxAttempts, maxTotalRetriesDuration);
+        try {
+            if (jedis.ping().isBlank()) {
+                throw new IllegalStateException("Redis ping request failed!");
+            }
+        } catch (final RuntimeException exception) {
+            jedis.close();
+            throw exception;
+        }
+        if (configuration.pool().warmUp()) {
+            try {
+                warmUp(connectionProvider, configuration.pool().minIdle());
+            } catch (final RuntimeException exception) {
+                // Not fatal, the missing connections are opened on demand or by the evictor
+                LOGGER.warn("Failed to warm up the Redis connection pool", exception);
+            }
+        }
+        return jedis;
+    }
+
+    private static @NotNull ConnectionPoolConfig createPoolConfig(final Configuration.Redis.Pool pool) {
+        final ConnectionPoolConfig poolConfig = new ConnectionPoolConfig();
+        poolConfig.setMaxTotal(pool.maxTotal());
+        poolConfig.setMaxIdle(pool.maxIdle());
+        poolConfig.setMinIdle(pool.minIdle());
+        poolConfig.setMaxWait(Duration.ofMillis(pool.maxWaitMillis()));
+        poolConfig.setTestOnBorrow(pool.testOnBorrow());
+        // The evictor pings idle connections, evicts the broken and the unused ones and refills up to min-idle
+        final boolean healthCheck = pool.healthCheckInterval() > 0L;
+        poolConfig.setTestWhileIdle(healthCheck);
+        poolConfig.setTimeBetweenEvictionRuns(Duration.ofMillis(healthCheck ? pool.healthCheckInterval() : -1L));
+        poolConfig.setMinEvictableIdleDuration(Duration.ofMillis(pool.minEvictableIdleTime()));
+        return poolConfig;
+    }
 
-        if (this.unifiedJedis.ping().isBlank()) {
-            throw new IllegalStateException("Redis ping request failed!");
+    private static void warmUp(final ConnectionProvider connectionProvider, final int connections) {
+        // Borrow the connections at the same time so that they are all opened, then give them back to the pool
+        final List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                borrowed.add(connectionProvider.getConnection());
+            }
+        } finally {
+            borrowed.forEach(Connection::close);
         }
     }
 
     @Override
     public @NotNull UnifiedJedis getJedis() {
-        return this.unifiedJedis;
+        final UnifiedJedis jedis = this.unifiedJedis;
+        if (jedis == null) {
+            throw new IllegalStateException("Redis is not connected yet");
+        }
+        return jedis;
     }
 
     @Override
     public void stop() {
-        this.unifiedJedis.close();
+        final Thread connector;
+        synchronized (this) {
+            this.stopped = true;
+            connector = this.connector;
+        }
+        if (connector != null) {
+            connector.interrupt();
+        }
+        final UnifiedJedis jedis = this.unifiedJedis;
+        if (jedis != null) {
+            jedis.close();
+        }
     }
 
 }
\ No newline at end of file
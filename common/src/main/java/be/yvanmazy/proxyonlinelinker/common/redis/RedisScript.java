@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.redis;
+
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+public final class RedisScript {
+
+    private final String script;
+    private final String sha;
+
+    public RedisScript(final @NotNull String script) {
+        this.script = Preconditions.requireNonBlank(script, "script");
+        this.sha = sha1(script);
+    }
+
+    // The script body is only sent when the server does not know it yet (first call, restart, SCRIPT FLUSH, failover)
+    public Object eval(final @NotNull UnifiedJedis jedis, final @NotNull List<String> keys, final @NotNull List<String> args) {
+        try {
+            return jedis.evalsha(this.sha, keys, args);
+        } catch (final JedisNoScriptException exception) {
+            this.load(jedis, keys);
+            return jedis.evalsha(this.sha, keys, args);
+        }
+    }
+
+    public void load(final @NotNull UnifiedJedis jedis, final @NotNull List<String> keys) {
+        if (keys.isEmpty()) {
+            jedis.scriptLoad(this.script);
+        } else {
+            // In cluster mode, the script must be loaded on the node owning the keys
+            jedis.scriptLoad(this.script, keys.get(0));
+        }
+    }
+
+    @Contract(pure = true)
+    public @NotNull String sha() {
+        return this.sha;
+    }
+
+    @Contract(pure = true)
+    public @NotNull String script() {
+        return this.script;
+    }
+
+    private static String sha1(final String script) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-1 is not available", exception);
+        }
+    }
+
+}
\ No newline at end of file
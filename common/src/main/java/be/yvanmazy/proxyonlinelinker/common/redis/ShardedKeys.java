@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.redis;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Counts can be split across several hashes so that, in cluster mode, they are spread over multiple slots.
+// Each shard key holds a hash tag ("set-key:{0}", "set-key:{1}", ...) and a server always writes to the same shard.
+public final class ShardedKeys {
+
+    private ShardedKeys() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    @Contract(pure = true)
+    public static @NotNull String keyOf(final @NotNull String setKey, final @NotNull String serverId, final int shards) {
+        if (shards <= 1) {
+            return setKey;
+        }
+        return key(setKey, Math.floorMod(serverId.hashCode(), shards));
+    }
+
+    @Contract(pure = true)
+    public static @NotNull List<String> keys(final @NotNull String setKey, final int shards) {
+        if (shards <= 1) {
+            return List.of(setKey);
+        }
+        final List<String> keys = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            keys.add(key(setKey, i));
+        }
+        return Collections.unmodifiableList(keys);
+    }
+
+    // Reads every shard in a single pipeline, in cluster mode the commands are grouped by node
+    public static @NotNull List<Map<String, String>> readAll(final @NotNull UnifiedJedis jedis, final @NotNull List<String> keys) {
+        if (keys.size() == 1) {
+            return List.of(jedis.hgetAll(keys.get(0)));
+        }
+        final List<Response<Map<String, String>>> responses = new ArrayList<>(keys.size());
+        try (final AbstractPipeline pipeline = jedis.pipelined()) {
+            for (final String key : keys) {
+                responses.add(pipeline.hgetAll(key));
+            }
+            pipeline.sync();
+        }
+        final List<Map<String, String>> shards = new ArrayList<>(responses.size());
+        for (final Response<Map<String, String>> response : responses) {
+            shards.add(response.get());
+        }
+        return shards;
+    }
+
+    private static String key(final String setKey, final int shard) {
+        return setKey + ":{" + shard + '}';
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.sharedmemory;
+
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+// File shared by the servers of a host, made of a header and one slot per server-id.
+// Slots are written under a seqlock: the sequence is odd while the slot is written, readers retry if it changed.
+public class SharedMemoryFile implements Closeable {
+
+    public static final String DEFAULT_PATH = "/dev/shm/proxyonlinelinker";
+    public static final int DEFAULT_SLOTS = 256;
+
+    private static final int MAGIC = 0x504F4C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    // One cache line per slot, so that servers never write to the same line
+    private static final int SLOT_SIZE = 64;
+
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int EXPIRE_OFFSET = 20;
+    private static final int ID_LENGTH_OFFSET = 24;
+    private static final int ID_OFFSET = 28;
+    private static final int MAX_ID_LENGTH = SLOT_SIZE - ID_OFFSET;
+    // A write only takes a few stores, a slot still being written after that many reads is considered dead
+    private static final int MAX_READ_ATTEMPTS = 1024;
+    // Slots about to expire are written under the lock, as they may be claimed by another server meanwhile
+    private static final long EXPIRATION_MARGIN = 1000L;
+
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    // File locks are held by the JVM, claims of the same process must not overlap
+    private static final Object CLAIM_LOCK = new Object();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    private SharedMemoryFile(final FileChannel channel, final MappedByteBuffer buffer, final int slots) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.slots = slots;
+    }
+
+    // The slot count of an existing file is kept, the given one is only used to create it
+    public static @NotNull SharedMemoryFile open(final @NotNull Path path, final int slots) throws IOException {
+        Objects.requireNonNull(path, "path must not be null");
+        Preconditions.checkRange(slots, 1L, (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE, "slots");
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final int fileSlots;
+            synchronized (CLAIM_LOCK) {
+                try (final FileLock ignored = channel.lock()) {
+                    fileSlots = initHeader(channel, slots);
+                }
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + (long) fileSlots * SLOT_SIZE);
+            return new SharedMemoryFile(channel, buffer, fileSlots);
+        } catch (final IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static int initHeader(final FileChannel channel, final int slots) throws IOException {
+        final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE);
+        if (header.getInt(0) == MAGIC) {
+            if (header.getInt(4) != VERSION || header.getInt(12) != SLOT_SIZE) {
+                throw new IOException("Incompatible shared memory file version: " + header.getInt(4));
+            }
+            return header.getInt(8);
+        }
+        // New file, the slots are zeroed by the file extension
+        header.putInt(4, VERSION);
+        header.putInt(8, slots);
+        header.putInt(12, SLOT_SIZE);
+        header.putInt(0, MAGIC);
+        header.force();
+        return slots;
+    }
+
+    // Returns the slot of this server-id, taking a free or expired slot if it has none
+    public int claim(final @NotNull String serverId) throws IOException {
+        final byte[] id = serverId.getBytes(StandardCharsets.UTF_8);
+        if (id.length == 0 || id.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Server id must be between 1 and " + MAX_ID_LENGTH + " bytes: " + serverId);
+        }
+        synchronized (CLAIM_LOCK) {
+            try (final FileLock ignored = this.channel.lock()) {
+                final long now = System.currentTimeMillis();
+                int free = -1;
+                for (int slot = 0; slot < this.slots; slot++) {
+                    final int offset = offset(slot);
+                    final int length = this.buffer.getInt(offset + ID_LENGTH_OFFSET);
+                    if (length == id.length && Arrays.equals(this.readId(offset, length), id)) {
+                        this.recover(offset);
+                        return slot;
+                    }
+                    if (free < 0 && (length == 0 || this.isExpired(offset, now))) {
+                        free = slot;
+                    }
+                }
+                if (free < 0) {
+                    throw new IOException("No free slot in the shared memory file (" + this.slots + " slots)");
+                }
+                final int offset = offset(free);
+                this.recover(offset);
+                final long sequence = this.beginWrite(offset);
+                this.buffer.putLong(offset + TIMESTAMP_OFFSET, now);
+                this.buffer.putInt(offset + COUNT_OFFSET, 0);
+                this.buffer.put(offset + ID_OFFSET, id);
+                this.buffer.putInt(offset + ID_LENGTH_OFFSET, id.length);
+                this.endWrite(offset, sequence);
+                return free;
+            }
+        }
+    }
+
+    // Returns false if the slot expired and was claimed by another server-id
+    public boolean write(final int slot, final @NotNull String serverId, final int count, final int expireSeconds) throws IOException {
+        final int offset = offset(Objects.checkIndex(slot, this.slots));
+        final byte[] id = serverId.getBytes(StandardCharsets.UTF_8);
+        if (!this.isExpired(offset, System.currentTimeMillis() + EXPIRATION_MARGIN)) {
+            return this.writeOwned(offset, id, count, expireSeconds);
+        }
+        synchronized (CLAIM_LOCK) {
+            try (final FileLock ignored = this.channel.lock()) {
+                return this.writeOwned(offset, id, count, expireSeconds);
+            }
+        }
+    }
+
+    private boolean writeOwned(final int offset, final byte[] id, final int count, final int expireSeconds) {
+        if (!this.isOwner(offset, id)) {
+            return false;
+        }
+        final long sequence = this.beginWrite(offset);
+        this.buffer.putLong(offset + TIMESTAMP_OFFSET, System.currentTimeMillis());
+        this.buffer.putInt(offset + COUNT_OFFSET, count);
+        this.buffer.putInt(offset + EXPIRE_OFFSET, expireSeconds);
+        this.endWrite(offset, sequence);
+        return true;
+    }
+
+    public void release(final int slot, final @NotNull String serverId) throws IOException {
+        final int offset = offset(Objects.checkIndex(slot, this.slots));
+        final byte[] id = serverId.getBytes(StandardCharsets.UTF_8);
+        synchronized (CLAIM_LOCK) {
+            try (final FileLock ignored = this.channel.lock()) {
+                // The slot may have expired and been claimed by another server
+                if (!this.isOwner(offset, id)) {
+                    return;
+                }
+                final long sequence = this.beginWrite(offset);
+                this.buffer.putInt(offset + COUNT_OFFSET, 0);
+                this.buffer.putInt(offset + ID_LENGTH_OFFSET, 0);
+                this.endWrite(offset, sequence);
+            }
+        }
+    }
+
+    // Plain memory reads, no system call
+    public long sum() {
+        final long now = System.currentTimeMillis();
+        long total = 0L;
+        for (int slot = 0; slot < this.slots; slot++) {
+            final int offset = offset(slot);
+            // A slot left odd by a process killed during a write is skipped until it is claimed again
+            for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+                final long sequence = (long) SEQUENCE.getAcquire(this.buffer, offset + SEQUENCE_OFFSET);
+                if ((sequence & 1L) != 0L) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                final int count = this.buffer.getInt(offset + COUNT_OFFSET);
+                final boolean live = this.buffer.getInt(offset + ID_LENGTH_OFFSET) != 0 && !this.isExpired(offset, now);
+                VarHandle.loadLoadFence();
+                if ((long) SEQUENCE.getOpaque(this.buffer, offset + SEQUENCE_OFFSET) == sequence) {
+                    if (live && count > 0) {
+                        total += count;
+                    }
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private long beginWrite(final int offset) {
+        final long sequence = (long) SEQUENCE.getOpaque(this.buffer, offset + SEQUENCE_OFFSET) + 1L;
+        SEQUENCE.setOpaque(this.buffer, offset + SEQUENCE_OFFSET, sequence);
+        VarHandle.storeStoreFence();
+        return sequence;
+    }
+
+    private void endWrite(final int offset, final long sequence) {
+        SEQUENCE.setRelease(this.buffer, offset + SEQUENCE_OFFSET, sequence + 1L);
+    }
+
+    // Only called under the file lock, on a slot that no live server is writing
+    private void recover(final int offset) {
+        final long sequence = (long) SEQUENCE.getOpaque(this.buffer, offset + SEQUENCE_OFFSET);
+        if ((sequence & 1L) != 0L) {
+            SEQUENCE.setRelease(this.buffer, offset + SEQUENCE_OFFSET, sequence + 1L);
+        }
+    }
+
+    private boolean isOwner(final int offset, final byte[] id) {
+        return this.buffer.getInt(offset + ID_LENGTH_OFFSET) == id.length && Arrays.equals(this.readId(offset, id.length), id);
+    }
+
+    private boolean isExpired(final int offset, final long now) {
+        final int expireSeconds = this.buffer.getInt(offset + EXPIRE_OFFSET);
+        return expireSeconds > 0 && now - this.buffer.getLong(offset + TIMESTAMP_OFFSET) >= expireSeconds * 1000L;
+    }
+
+    private byte[] readId(final int offset, final int length) {
+        final byte[] id = new byte[length];
+        this.buffer.get(offset + ID_OFFSET, id);
+        return id;
+    }
+
+    private static int offset(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+}
\ No newline at end of file
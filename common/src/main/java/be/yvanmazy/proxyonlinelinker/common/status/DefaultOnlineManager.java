@@ -25,35 +25,74 @@
 package be.yvanmazy.proxyonlinelinker.common.status;
 
 import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
+import be.yvanmazy.proxyonlinelinker.common.metrics.FetchMetrics;
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
 import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSource;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DefaultOnlineManager implements OnlineManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultOnlineManager.class);
+    private static final int NOT_FETCHED = Integer.MIN_VALUE;
+    private static final CompletableFuture<Integer> SKIPPED = CompletableFuture.completedFuture(NOT_FETCHED);
+
+    private final MetricsRegistry metricsRegistry;
 
     private Configuration.Status config;
+    private SourceState[] states;
     private ScheduledExecutorService executorService;
     private ScheduledFuture<?> scheduledTask;
+    private ExecutorService fetchExecutor;
+    private CompletableFuture<Integer>[] pendingFetches;
+    private CompletableFuture<Integer>[] roundFetches;
+    private boolean adaptive;
+    private boolean independent;
+
+    // Read path: getOnlineCount() only performs volatile reads, plus a single volatile write per
+    // scheduler round when access tracking is enabled. It never takes a lock while the scheduler is running.
+    private volatile int online;
+    private volatile Map<String, Integer> groupCounts = Map.of();
+    private volatile boolean accessed;
+    private boolean trackAccess;
 
-    private long lastUpdate;
+    // Only accessed by the scheduler thread, or under schedulerLock
     private long lastAccess;
-    private int online;
+    private int schedulerGeneration;
 
+    // Sum of the current contribution of every source when they are scheduled independently
+    private int total;
+    private final Object totalLock = new Object();
+
+    private final AtomicLong lastUpdate = new AtomicLong();
+    private final AtomicBoolean sleeping = new AtomicBoolean();
     private final AtomicBoolean updating = new AtomicBoolean();
     private final Object schedulerLock = new Object();
+    // Rounds share the fetch arrays and the source states, they must never overlap
+    private final Object updateLock = new Object();
+
+    public DefaultOnlineManager(final @NotNull MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry, "metricsRegistry must not be null");
+    }
+
+    public DefaultOnlineManager() {
+        this(new MetricsRegistry());
+    }
 
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public void start(final @NotNull Configuration configuration) {
         this.config = Objects.requireNonNull(configuration, "configuration must not be null").status();
         if (!this.config.enabled()) {
@@ -64,11 +103,30 @@ public class DefaultOnlineManager implements OnlineManager {
             LOGGER.warn("No status sources configured, online count will always be 0!");
         }
 
+        final List<StatusSource> sources = this.config.sources();
+        this.states = new SourceState[sources.size()];
+        for (int i = 0; i < this.states.length; i++) {
+            final StatusSource source = sources.get(i);
+            this.states[i] = new SourceState(source, this.metricsRegistry.source(source.name()));
+        }
+
         if (!this.config.requestOnDemand() || this.config.parallelRequestOnDemand()) {
             this.executorService = Executors.newSingleThreadScheduledExecutor();
         }
 
+        this.independent = !this.config.requestOnDemand() && this.config.independentScheduling();
+        if (this.config.parallelFetching() || this.independent) {
+            this.fetchExecutor = Executors.newCachedThreadPool();
+        }
+        if (this.config.parallelFetching()) {
+            this.pendingFetches = new CompletableFuture[this.states.length];
+            this.roundFetches = new CompletableFuture[this.states.length];
+        }
+
         if (!this.config.requestOnDemand()) {
+            this.adaptive = this.config.adaptiveRefresh().enabled();
+            // The adaptive scheduler also needs to know if the count is being read
+            this.trackAccess = this.config.inactivityTimeout() > 0 || this.adaptive;
             final long expiration = this.config.globalCacheExpiration();
             if (expiration <= 1) {
                 throw new IllegalArgumentException("Global cache expiration must be > 1 when not requesting on demand!");
@@ -88,14 +146,49 @@ public class DefaultOnlineManager implements OnlineManager {
         if (this.executorService != null) {
             this.executorService.shutdownNow();
         }
+        if (this.fetchExecutor != null) {
+            this.fetchExecutor.shutdownNow();
+        }
+        if (this.config == null) {
+            return;
+        }
+        for (final StatusSource source : this.config.sources()) {
+            try {
+                source.shutdown();
+            } catch (final Exception e) {
+                LOGGER.error("Failed to shutdown status source: {}", source, e);
+            }
+        }
     }
 
     @Override
     public int getOnlineCount() {
-        if (!this.config.requestOnDemand()) {
-            this.lastAccess = System.currentTimeMillis();
-            this.wakeUpScheduler();
-        } else if (this.processExpiration()) {
+        this.onAccess();
+        return this.online;
+    }
+
+    @Override
+    public int getGroupCount(final @NotNull String group) {
+        this.onAccess();
+        return this.groupCounts.getOrDefault(group, -1);
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<String, Integer> getGroupCounts() {
+        this.onAccess();
+        return this.groupCounts;
+    }
+
+    private void onAccess() {
+        if (this.trackAccess) {
+            // Only write when needed to avoid contention on the cache line during ping floods
+            if (!this.accessed) {
+                this.accessed = true;
+            }
+            if (this.sleeping.get()) {
+                this.wakeUpScheduler();
+            }
+        } else if (this.config.requestOnDemand() && this.processExpiration()) {
             if (this.config.parallelRequestOnDemand()) {
                 if (this.updating.compareAndSet(false, true)) {
                     this.executorService.execute(this::parallelUpdateOnline);
@@ -104,7 +197,6 @@ public class DefaultOnlineManager implements OnlineManager {
                 this.updateOnline();
             }
         }
-        return this.online;
     }
 
     private void parallelUpdateOnline() {
@@ -115,21 +207,208 @@ public class DefaultOnlineManager implements OnlineManager {
         }
     }
 
-    private void updateOnline() {
-        int total = 0;
-        for (final StatusSource source : this.config.sources()) {
+    private void adaptiveRound(final int generation) {
+        this.updateOnline();
+
+        long next = Long.MAX_VALUE;
+        for (final SourceState state : this.states) {
+            next = Math.min(next, state.nextRefresh());
+        }
+        final long delay = this.states.length == 0 ?
+                this.config.adaptiveRefresh().maxInterval() :
+                Math.max(1L, next - System.currentTimeMillis());
+
+        synchronized (this.schedulerLock) {
+            // The scheduler may have been stopped, put to sleep or restarted during this round
+            if (generation == this.schedulerGeneration && this.scheduledTask != null && !this.executorService.isShutdown()) {
+                this.scheduledTask = this.executorService.schedule(() -> this.adaptiveRound(generation), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void refreshSource(final SourceState state, final int generation) {
+        final boolean active = this.accessed;
+        CompletableFuture<Integer> future = state.fetchIfIdle(() -> this.fetchSourceAsync(state));
+        final long timeout = this.config.parallelFetchingTimeout();
+        if (timeout > 0L) {
+            // The timeout must only complete this round, not the fetch which may be awaited again by the next one
+            future = future.copy().completeOnTimeout(-1, timeout, TimeUnit.MILLISECONDS);
+        }
+        future.thenAccept(fetched -> {
+            final long now = System.currentTimeMillis();
             try {
-                final int fetched = source.fetch();
-                if (fetched < 0) { // TODO: Handle fallback
-                    continue;
+                if (this.adaptive) {
+                    state.adapt(fetched, now, active, this.config.adaptiveRefresh());
                 }
-                total += fetched;
+                this.updateSource(state, fetched, now);
             } catch (final Exception exception) {
-                LOGGER.error("Failed to fetch status ", exception);
+                LOGGER.error("Failed to update status source {}", state.source().name(), exception);
+            } finally {
+                this.rescheduleSource(state, generation, now);
             }
+        });
+    }
+
+    private void rescheduleSource(final SourceState state, final int generation, final long now) {
+        final long delay = this.adaptive ? Math.max(1L, state.nextRefresh() - now) : this.refreshInterval(state);
+        synchronized (this.schedulerLock) {
+            if (generation == this.schedulerGeneration && this.scheduledTask != null && !this.executorService.isShutdown()) {
+                this.executorService.schedule(() -> this.refreshSource(state, generation), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void updateSource(final SourceState state, final int fetched, final long now) {
+        synchronized (this.totalLock) {
+            // Only the difference is applied, other sources are left untouched
+            final int previous = Math.max(0, state.current());
+            final int current = Math.max(0, state.resolve(fetched, now, this.config.fallback()));
+            this.total += current - previous;
+            this.online = this.total;
+            this.updateGroups();
+            this.metricsRegistry.recordStatusUpdate(this.total);
+        }
+    }
+
+    private void updateGroups() {
+        Map<String, Integer> merged = null;
+        for (final SourceState state : this.states) {
+            final Map<String, Integer> groups = state.source().groupCounts();
+            if (groups.isEmpty()) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new LinkedHashMap<>();
+            }
+            for (final Map.Entry<String, Integer> entry : groups.entrySet()) {
+                merged.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        if (merged != null) {
+            this.groupCounts = Collections.unmodifiableMap(merged);
         }
-        this.online = total;
-        this.checkInactivityAndSleep();
+    }
+
+    private long refreshInterval(final SourceState state) {
+        final long interval = state.source().refreshInterval();
+        return interval > 0L ? interval : this.config.globalCacheExpiration();
+    }
+
+    private void updateOnline() {
+        // Without expiration, concurrent requests on demand can all start a round
+        synchronized (this.updateLock) {
+            final boolean active = this.accessed;
+            final long now = System.currentTimeMillis();
+            final int[] results = this.pendingFetches != null ? this.fetchParallel(now) : this.fetchSequential(now);
+            final Configuration.Status.Fallback fallback = this.config.fallback();
+            final Configuration.Status.AdaptiveRefresh adaptiveRefresh = this.config.adaptiveRefresh();
+            int total = 0;
+            for (int i = 0; i < results.length; i++) {
+                final SourceState state = this.states[i];
+                final int fetched = results[i];
+                if (fetched != NOT_FETCHED) {
+                    if (this.adaptive) {
+                        state.adapt(fetched, now, active, adaptiveRefresh);
+                    }
+                    state.resolve(fetched, now, fallback);
+                }
+                final int current = state.current();
+                if (current > 0) {
+                    total += current;
+                }
+            }
+            this.online = total;
+            this.updateGroups();
+            this.metricsRegistry.recordStatusUpdate(total);
+            this.checkInactivityAndSleep();
+        }
+    }
+
+    private int[] fetchSequential(final long now) {
+        final int[] results = new int[this.states.length];
+        for (int i = 0; i < results.length; i++) {
+            final SourceState state = this.states[i];
+            results[i] = state.isDue(now) ? this.fetchSource(state) : NOT_FETCHED;
+        }
+        return results;
+    }
+
+    private int[] fetchParallel(final long now) {
+        final CompletableFuture<Integer>[] futures = this.pendingFetches;
+        final CompletableFuture<Integer>[] round = this.roundFetches;
+
+        for (int i = 0; i < futures.length; i++) {
+            final SourceState state = this.states[i];
+            if (!state.isDue(now)) {
+                round[i] = SKIPPED;
+                continue;
+            }
+            // A source still running from a previous round is awaited again instead of being fetched twice
+            if (futures[i] == null || futures[i].isDone()) {
+                futures[i] = this.fetchSourceAsync(state);
+            }
+            round[i] = futures[i];
+        }
+
+        final long timeout = this.config.parallelFetchingTimeout();
+        try {
+            final CompletableFuture<Void> all = CompletableFuture.allOf(round);
+            if (timeout > 0L) {
+                all.get(timeout, TimeUnit.MILLISECONDS);
+            } else {
+                all.get();
+            }
+        } catch (final TimeoutException ignored) {
+            LOGGER.warn("Some status sources did not respond within {}ms, they are ignored for this round", timeout);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException exception) {
+            LOGGER.error("Failed to fetch status ", exception);
+        }
+
+        final int[] results = new int[round.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = round[i].getNow(-1);
+        }
+        return results;
+    }
+
+    private CompletableFuture<Integer> fetchSourceAsync(final SourceState state) {
+        final FetchMetrics metrics = state.metrics();
+        final long start = System.nanoTime();
+        try {
+            return state.source().fetchAsync(this.fetchExecutor).handle((fetched, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.error("Failed to fetch status ", throwable);
+                    return record(metrics, start, -1);
+                }
+                return record(metrics, start, fetched);
+            });
+        } catch (final Exception exception) {
+            LOGGER.error("Failed to fetch status ", exception);
+            return CompletableFuture.completedFuture(record(metrics, start, -1));
+        }
+    }
+
+    private int fetchSource(final SourceState state) {
+        final FetchMetrics metrics = state.metrics();
+        final long start = System.nanoTime();
+        try {
+            return record(metrics, start, state.source().fetch());
+        } catch (final Exception exception) {
+            LOGGER.error("Failed to fetch status ", exception);
+            return record(metrics, start, -1);
+        }
+    }
+
+    private static int record(final FetchMetrics metrics, final long start, final int fetched) {
+        final long duration = System.nanoTime() - start;
+        if (fetched < 0) {
+            metrics.recordFailure(duration);
+        } else {
+            metrics.recordSuccess(duration, fetched);
+        }
+        return fetched;
     }
 
     private boolean processExpiration() {
@@ -137,17 +416,36 @@ public class DefaultOnlineManager implements OnlineManager {
             return true;
         }
         final long now = System.currentTimeMillis();
-        if (now - this.lastUpdate < this.config.globalCacheExpiration()) {
+        final long lastUpdate = this.lastUpdate.get();
+        if (now - lastUpdate < this.config.globalCacheExpiration()) {
             return false;
         }
-        this.lastUpdate = now;
-        return true;
+        // Only one caller refreshes per expiration
+        return this.lastUpdate.compareAndSet(lastUpdate, now);
     }
 
     private void startScheduler() {
         synchronized (this.schedulerLock) {
+            if (this.executorService.isShutdown()) {
+                return;
+            }
             if (this.scheduledTask == null || this.scheduledTask.isCancelled()) {
                 this.lastAccess = System.currentTimeMillis();
+                if (this.independent) {
+                    this.startIndependentScheduler();
+                    return;
+                }
+                if (this.adaptive) {
+                    // Every source is refreshed right away, the count must be fresh when someone starts looking at it again
+                    final long minInterval = this.config.adaptiveRefresh().minInterval();
+                    for (final SourceState state : this.states) {
+                        state.resetInterval(minInterval);
+                    }
+                    final int generation = ++this.schedulerGeneration;
+                    this.scheduledTask = this.executorService.schedule(() -> this.adaptiveRound(generation), 0L, TimeUnit.MILLISECONDS);
+                    LOGGER.debug("Adaptive scheduler started");
+                    return;
+                }
                 final long expiration = this.config.globalCacheExpiration();
                 this.scheduledTask = this.executorService.scheduleWithFixedDelay(this::updateOnline, 0L, expiration, TimeUnit.MILLISECONDS);
                 LOGGER.debug("Scheduler started with {}ms interval", expiration);
@@ -155,25 +453,46 @@ public class DefaultOnlineManager implements OnlineManager {
         }
     }
 
-    private void wakeUpScheduler() {
-        if (this.config.inactivityTimeout() <= 0) {
-            return;
-        }
-        synchronized (this.schedulerLock) {
-            if (this.scheduledTask == null || this.scheduledTask.isCancelled()) {
-                LOGGER.debug("Waking up scheduler after inactivity");
-                this.startScheduler();
+    private void startIndependentScheduler() {
+        final int generation = ++this.schedulerGeneration;
+        final long minInterval = this.config.adaptiveRefresh().minInterval();
+        for (final SourceState state : this.states) {
+            if (this.adaptive) {
+                state.resetInterval(minInterval);
             }
+            this.executorService.execute(() -> this.refreshSource(state, generation));
+        }
+        // Sources reschedule themselves, this task only keeps track of the inactivity and of the scheduler state
+        final long expiration = this.config.globalCacheExpiration();
+        this.scheduledTask = this.executorService.scheduleWithFixedDelay(this::checkInactivityAndSleep, expiration, expiration, TimeUnit.MILLISECONDS);
+        LOGGER.debug("Independent scheduler started for {} sources", this.states.length);
+    }
+
+    private void wakeUpScheduler() {
+        // Only the first caller after the scheduler went to sleep restarts it
+        if (this.sleeping.compareAndSet(true, false)) {
+            LOGGER.debug("Waking up scheduler after inactivity");
+            this.startScheduler();
         }
     }
 
     private void checkInactivityAndSleep() {
-        final long inactivityTimeout = this.config.inactivityTimeout();
-        if (inactivityTimeout <= 0) {
+        if (!this.trackAccess) {
             return;
         }
 
+        // The scheduler thread is the only one reading the clock, readers only raise the accessed flag
         final long now = System.currentTimeMillis();
+        if (this.accessed) {
+            this.accessed = false;
+            this.lastAccess = now;
+            return;
+        }
+
+        final long inactivityTimeout = this.config.inactivityTimeout();
+        if (inactivityTimeout <= 0L) {
+            return;
+        }
         final long inactiveDuration = now - this.lastAccess;
 
         if (inactiveDuration >= inactivityTimeout) {
@@ -184,6 +503,11 @@ public class DefaultOnlineManager implements OnlineManager {
                     this.scheduledTask = null;
                 }
             }
+            this.sleeping.set(true);
+            // A request may have arrived between the check and the flag, it must not be lost
+            if (this.accessed) {
+                this.wakeUpScheduler();
+            }
         }
     }
 
@@ -27,6 +27,9 @@ package be.yvanmazy.proxyonlinelinker.common.status;
 import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
 
 public interface OnlineManager {
 
@@ -37,4 +40,11 @@ public interface OnlineManager {
     @CheckReturnValue
     int getOnlineCount();
 
+    // Returns -1 if no source provides this group
+    @CheckReturnValue
+    int getGroupCount(final @NotNull String group);
+
+    @CheckReturnValue
+    @NotNull @Unmodifiable Map<String, Integer> getGroupCounts();
+
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status;
+
+import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
+import be.yvanmazy.proxyonlinelinker.common.metrics.FetchMetrics;
+import be.yvanmazy.proxyonlinelinker.common.status.source.StatusSource;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+final class SourceState {
+
+    private final StatusSource source;
+    private final FetchMetrics metrics;
+
+    private volatile int lastKnown = -1;
+    private volatile long lastSuccess;
+    private volatile int current;
+
+    // Only used by the adaptive scheduler
+    private volatile long interval;
+    private volatile long nextRefresh;
+
+    // Only used by the independent scheduler, from the scheduler thread
+    private CompletableFuture<Integer> inFlight;
+
+    SourceState(final @NotNull StatusSource source, final @NotNull FetchMetrics metrics) {
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+    }
+
+    int resolve(final int fetched, final long now, final Configuration.Status.@NotNull Fallback fallback) {
+        if (fetched >= 0) {
+            this.lastKnown = fetched;
+            this.lastSuccess = now;
+            this.current = fetched;
+            return fetched;
+        }
+        return this.current = fallback.strategy().resolve(this.lastKnown, now - this.lastSuccess, fallback);
+    }
+
+    void adapt(final int fetched, final long now, final boolean active, final Configuration.Status.@NotNull AdaptiveRefresh config) {
+        long interval = this.interval;
+        if (fetched >= 0) {
+            final int lastKnown = this.lastKnown;
+            final boolean changed = lastKnown >= 0 && Math.abs(fetched - lastKnown) >= config.changeThreshold();
+            if (!active) {
+                interval <<= 1;
+            } else if (changed) {
+                interval >>= 1;
+            } else {
+                interval += interval >> 1;
+            }
+        }
+        this.interval = Math.max(config.minInterval(), Math.min(config.maxInterval(), interval));
+        this.nextRefresh = now + this.interval;
+    }
+
+    void resetInterval(final long interval) {
+        this.interval = interval;
+        this.nextRefresh = 0L;
+    }
+
+    @NotNull CompletableFuture<Integer> fetchIfIdle(final @NotNull Supplier<CompletableFuture<Integer>> fetcher) {
+        // A fetch still running from a previous round is awaited again instead of being started twice
+        if (this.inFlight == null || this.inFlight.isDone()) {
+            this.inFlight = fetcher.get();
+        }
+        return this.inFlight;
+    }
+
+    boolean isDue(final long now) {
+        return now >= this.nextRefresh;
+    }
+
+    @NotNull StatusSource source() {
+        return this.source;
+    }
+
+    @NotNull FetchMetrics metrics() {
+        return this.metrics;
+    }
+
+    int lastKnown() {
+        return this.lastKnown;
+    }
+
+    long lastSuccess() {
+        return this.lastSuccess;
+    }
+
+    int current() {
+        return this.current;
+    }
+
+    long nextRefresh() {
+        return this.nextRefresh;
+    }
+
+}
\ No newline at end of file
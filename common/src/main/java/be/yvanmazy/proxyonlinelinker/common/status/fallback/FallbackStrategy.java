@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.fallback;
+
+import be.yvanmazy.proxyonlinelinker.common.config.Configuration;
+import org.jetbrains.annotations.NotNull;
+
+public enum FallbackStrategy {
+
+    EXCLUDE {
+        @Override
+        public int resolve(final int lastKnown, final long age, final Configuration.Status.@NotNull Fallback config) {
+            return -1;
+        }
+    },
+    LAST_KNOWN {
+        @Override
+        public int resolve(final int lastKnown, final long age, final Configuration.Status.@NotNull Fallback config) {
+            if (lastKnown < 0 || isTooOld(age, config)) {
+                return -1;
+            }
+            return lastKnown;
+        }
+    },
+    DECAY {
+        @Override
+        public int resolve(final int lastKnown, final long age, final Configuration.Status.@NotNull Fallback config) {
+            if (lastKnown < 0 || isTooOld(age, config)) {
+                return -1;
+            }
+            final long halfLife = config.decayHalfLife();
+            if (halfLife <= 0L) {
+                return lastKnown;
+            }
+            return (int) (lastKnown * Math.pow(0.5D, (double) age / halfLife));
+        }
+    };
+
+    // Returns the value to use for a source that failed, or -1 to exclude it from the total
+    public abstract int resolve(final int lastKnown, final long age, final Configuration.Status.@NotNull Fallback config);
+
+    private static boolean isTooOld(final long age, final Configuration.Status.Fallback config) {
+        final long maxAge = config.maxAge();
+        return maxAge > 0L && age > maxAge;
+    }
+
+}
\ No newline at end of file
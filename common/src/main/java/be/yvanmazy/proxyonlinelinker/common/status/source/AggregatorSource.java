@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public class AggregatorSource implements StatusSource, InitializableElement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatorSource.class);
+    private static final long RECONNECT_DELAY = 1000L;
+
+    private final InetSocketAddress address;
+    private final int timeout;
+    private final String secret;
+
+    // Pushed by the aggregator, -1 while disconnected so that the fallback strategy applies
+    private volatile int total = -1;
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread subscriber;
+
+    public AggregatorSource(final @NotNull InetSocketAddress address, final int timeout, final @Nullable String secret) {
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        this.timeout = Math.max(timeout, 0);
+        this.secret = secret;
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        this.start();
+    }
+
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        this.subscriber = new Thread(this::subscribeLoop, "ProxyOnlineLinker Aggregator Subscriber");
+        this.subscriber.setDaemon(true);
+        this.subscriber.start();
+    }
+
+    private void subscribeLoop() {
+        while (this.running) {
+            try (final Socket socket = AggregatorProtocol.connect(this.address, this.timeout, AggregatorProtocol.ROLE_SUBSCRIBER, this.secret)) {
+                this.socket = socket;
+                // The aggregator sends the total at least every heartbeat interval, a silent connection is dead
+                socket.setSoTimeout(AggregatorProtocol.IDLE_TIMEOUT);
+                this.readTotals(socket);
+            } catch (final IOException exception) {
+                if (!this.running) {
+                    return;
+                }
+                LOGGER.warn("Lost connection to aggregator {}, retrying in {}ms", this.address, RECONNECT_DELAY, exception);
+            } finally {
+                this.total = -1;
+                this.socket = null;
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+            } catch (final InterruptedException exception) {
+                return;
+            }
+        }
+    }
+
+    private void readTotals(final Socket socket) throws IOException {
+        final DataInputStream in = new DataInputStream(socket.getInputStream());
+        final byte[] frame = new byte[AggregatorProtocol.MAX_FRAME_SIZE];
+        long lastPing = System.currentTimeMillis();
+        while (this.running) {
+            final ByteBuffer buffer = AggregatorProtocol.readFrame(in, frame);
+            if (VarInt.read(buffer) == AggregatorProtocol.TOTAL) {
+                this.total = VarInt.read(buffer);
+            }
+            // Answering the heartbeats of the aggregator keeps this subscriber from being closed as idle
+            final long now = System.currentTimeMillis();
+            if (now - lastPing >= AggregatorProtocol.HEARTBEAT_INTERVAL / 2) {
+                AggregatorProtocol.write(socket.getOutputStream(), AggregatorProtocol.ping());
+                lastPing = now;
+            }
+        }
+    }
+
+    @Override
+    public int fetch() {
+        // The total is pushed on each change and with each heartbeat, fetching it does not need any network I/O
+        return this.total;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.running = false;
+        final Socket socket = this.socket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (final IOException ignored) {
+            }
+        }
+        if (this.subscriber != null) {
+            this.subscriber.interrupt();
+        }
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.AGGREGATOR;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "aggregator:" + this.address.getHostString() + ':' + this.address.getPort();
+    }
+
+}
\ No newline at end of file
@@ -24,13 +24,19 @@
 
 package be.yvanmazy.proxyonlinelinker.common.status.source;
 
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
 import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public class CacheLayerSource implements StatusSource {
+public class CacheLayerSource implements StatusSource, InitializableElement {
 
     private final StatusSource delegate;
     private final long expirationDelay;
@@ -48,19 +54,44 @@ public class CacheLayerSource implements StatusSource {
         this.cacheFailure = cacheFailure;
     }
 
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        if (this.delegate instanceof final InitializableElement element) {
+            element.init(proxyOnlineLinker);
+        }
+    }
+
     @Override
     public int fetch() {
         final long now = System.currentTimeMillis();
         if (now - this.lastUpdate < this.expirationDelay) {
             return this.lastFetched;
         }
-        final int fetched = this.delegate.fetch();
-        if (fetched < 0 && !this.cacheFailure) {
-            return this.lastFetched;
+        return this.store(this.delegate.fetch(), now);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastUpdate < this.expirationDelay) {
+            return CompletableFuture.completedFuture(this.lastFetched);
         }
-        this.lastFetched = fetched;
-        this.lastUpdate = now;
-        return this.lastFetched;
+        return this.delegate.fetchAsync(executor).thenApply(fetched -> this.store(fetched, now));
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<String, Integer> groupCounts() {
+        return this.delegate.groupCounts();
+    }
+
+    @Override
+    public long refreshInterval() {
+        return this.delegate.refreshInterval();
     }
 
     @Override
@@ -68,4 +99,18 @@ public class CacheLayerSource implements StatusSource {
         return this.delegate.type();
     }
 
+    @Override
+    public @NotNull String name() {
+        return this.delegate.name();
+    }
+
+    private int store(final int fetched, final long now) {
+        if (fetched < 0 && !this.cacheFailure) {
+            return this.lastFetched;
+        }
+        this.lastFetched = fetched;
+        this.lastUpdate = now;
+        return this.lastFetched;
+    }
+
 }
\ No newline at end of file
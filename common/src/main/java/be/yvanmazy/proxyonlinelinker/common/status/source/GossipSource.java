@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.gossip.GossipPacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+public class GossipSource implements StatusSource, InitializableElement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GossipSource.class);
+    // The sequence of a server is remembered for a while after its count expired or was removed, so it cannot be replayed
+    private static final long SEQUENCE_RETENTION = 600_000L;
+
+    private final InetSocketAddress bindAddress;
+    private final String network;
+    private final InetAddress multicastGroup;
+    private final String networkInterface;
+    private final Mac mac;
+
+    // Server id to count, expiration time and last sequence, only filled by the receiver thread
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Object entriesLock = new Object();
+
+    private DatagramChannel channel;
+    private Thread receiver;
+    private volatile boolean running;
+
+    public GossipSource(final @NotNull InetSocketAddress bindAddress,
+                        final @NotNull String network,
+                        final @Nullable InetAddress multicastGroup,
+                        final @Nullable String networkInterface,
+                        final @Nullable String secret) {
+        this.bindAddress = Objects.requireNonNull(bindAddress, "bindAddress must not be null");
+        this.network = Objects.requireNonNull(network, "network must not be null");
+        if (multicastGroup != null && !multicastGroup.isMulticastAddress()) {
+            throw new IllegalArgumentException("Not a multicast address: " + multicastGroup);
+        }
+        this.multicastGroup = multicastGroup;
+        this.networkInterface = networkInterface == null || networkInterface.isBlank() ? null : networkInterface;
+        this.mac = GossipPacket.createMac(secret);
+        if (this.mac == null && !bindAddress.isUnresolved() && !bindAddress.getAddress().isLoopbackAddress()) {
+            LOGGER.warn("Gossip source bound to {} without secret, any host reaching it can send counts", bindAddress);
+        }
+    }
+
+    public GossipSource(final @NotNull InetSocketAddress bindAddress, final @NotNull String network) {
+        this(bindAddress, network, null, null, null);
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        this.start();
+    }
+
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        try {
+            this.channel = this.openChannel();
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to open gossip channel on " + this.bindAddress, exception);
+        }
+        this.running = true;
+        this.receiver = new Thread(this::receiveLoop, "ProxyOnlineLinker Gossip Receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    private DatagramChannel openChannel() throws IOException {
+        final DatagramChannel channel = this.multicastGroup instanceof Inet6Address ?
+                DatagramChannel.open(StandardProtocolFamily.INET6) :
+                DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.bind(this.bindAddress);
+            if (this.multicastGroup != null) {
+                channel.join(this.multicastGroup, this.findNetworkInterface());
+            }
+        } catch (final IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+        return channel;
+    }
+
+    private NetworkInterface findNetworkInterface() throws IOException {
+        if (this.networkInterface != null) {
+            final NetworkInterface networkInterface = NetworkInterface.getByName(this.networkInterface);
+            if (networkInterface == null) {
+                throw new IOException("Unknown network interface: " + this.networkInterface);
+            }
+            return networkInterface;
+        }
+        for (final NetworkInterface networkInterface : NetworkInterface.networkInterfaces().toList()) {
+            if (networkInterface.isUp() && networkInterface.supportsMulticast() && !networkInterface.isLoopback()) {
+                return networkInterface;
+            }
+        }
+        throw new IOException("No network interface supports multicast, please configure one");
+    }
+
+    private void receiveLoop() {
+        final ByteBuffer buffer = ByteBuffer.allocate(GossipPacket.MAX_SIZE);
+        while (this.running) {
+            buffer.clear();
+            try {
+                this.channel.receive(buffer);
+            } catch (final ClosedChannelException exception) {
+                return;
+            } catch (final IOException exception) {
+                LOGGER.warn("Failed to receive gossip packet", exception);
+                continue;
+            }
+            buffer.flip();
+            final GossipPacket packet;
+            try {
+                packet = GossipPacket.decode(buffer, this.network, this.mac);
+            } catch (final IOException exception) {
+                LOGGER.debug("Ignored invalid gossip packet", exception);
+                continue;
+            }
+            if (packet != null) {
+                this.handlePacket(packet);
+            }
+        }
+    }
+
+    private void handlePacket(final GossipPacket packet) {
+        final long now = System.currentTimeMillis();
+        synchronized (this.entriesLock) {
+            final Entry previous = this.entries.get(packet.serverId());
+            if (previous != null && packet.sequence() <= previous.sequence) {
+                LOGGER.debug("Ignored reordered or replayed gossip packet of {}", packet.serverId());
+                return;
+            }
+            if (packet.online() == GossipPacket.REMOVED) {
+                // Kept without count until the sequence is forgotten
+                this.entries.put(packet.serverId(), new Entry(0, now, packet.sequence()));
+                return;
+            }
+            final long expiresAt = packet.expireSeconds() > 0 ? now + packet.expireSeconds() * 1000L : Long.MAX_VALUE;
+            this.entries.put(packet.serverId(), new Entry(packet.online(), expiresAt, packet.sequence()));
+        }
+    }
+
+    @Override
+    public int fetch() {
+        // Only reads the local table, the counts are pushed by the peers
+        final long now = System.currentTimeMillis();
+        long total = 0L;
+        synchronized (this.entriesLock) {
+            final Iterator<Entry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                final Entry entry = iterator.next();
+                if (entry.forgetAt <= now) {
+                    iterator.remove();
+                } else if (entry.expiresAt > now) {
+                    total += entry.online;
+                }
+            }
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.running = false;
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (final IOException ignored) {
+            }
+        }
+        if (this.receiver != null) {
+            this.receiver.interrupt();
+        }
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.GOSSIP;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "gossip:" + this.network;
+    }
+
+    private static final class Entry {
+
+        private final int online;
+        private final long expiresAt;
+        private final long sequence;
+        private final long forgetAt;
+
+        private Entry(final int online, final long expiresAt, final long sequence) {
+            this.online = online;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+            this.forgetAt = expiresAt == Long.MAX_VALUE ? Long.MAX_VALUE : expiresAt + SEQUENCE_RETENTION;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.redis.AsyncJedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.ShardedKeys;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+public class GroupedRedisSource implements StatusSource, InitializableElement {
+
+    private final String setKey;
+    private final List<String> keys;
+    private final String[] groupNames;
+    private final Pattern[] groupPatterns;
+
+    private JedisProvider jedisProvider;
+    private volatile Map<String, Integer> groupCounts = Map.of();
+
+    public GroupedRedisSource(final @NotNull String setKey, final int shards, final @NotNull Map<String, Pattern> groups) {
+        this.setKey = Preconditions.requireNonBlank(setKey, "setKey");
+        this.keys = ShardedKeys.keys(setKey, shards);
+        Objects.requireNonNull(groups, "groups must not be null");
+        this.groupNames = groups.keySet().toArray(new String[0]);
+        this.groupPatterns = Preconditions.requireNonNullEntries(groups.values().toArray(new Pattern[0]), "groups");
+    }
+
+    public GroupedRedisSource(final @NotNull String setKey,
+                              final int shards,
+                              final @NotNull Map<String, Pattern> groups,
+                              final @NotNull JedisProvider jedisProvider) {
+        this(setKey, shards, groups);
+        this.jedisProvider = Objects.requireNonNull(jedisProvider, "jedisProvider must not be null");
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        this.jedisProvider = proxyOnlineLinker.getSafeJedisProvider();
+    }
+
+    @Override
+    public int fetch() {
+        return this.fetch(this.jedisProvider.getJedis());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        if (this.jedisProvider instanceof final AsyncJedisProvider asyncProvider) {
+            return asyncProvider.submit(this::fetch);
+        }
+        return StatusSource.super.fetchAsync(executor);
+    }
+
+    private int fetch(final UnifiedJedis jedis) {
+        // A single snapshot of the hash is used for the total and for every group
+        final List<Map<String, String>> shards = ShardedKeys.readAll(jedis, this.keys);
+        final int[] counts = new int[this.groupPatterns.length];
+        int total = 0;
+        for (final Map<String, String> values : shards) {
+            for (final Map.Entry<String, String> entry : values.entrySet()) {
+                final int count;
+                try {
+                    count = Integer.parseInt(entry.getValue());
+                } catch (final NumberFormatException ignored) {
+                    continue;
+                }
+                total += count;
+                final String serverId = entry.getKey();
+                for (int i = 0; i < counts.length; i++) {
+                    if (this.groupPatterns[i].matcher(serverId).matches()) {
+                        counts[i] += count;
+                    }
+                }
+            }
+        }
+
+        final Map<String, Integer> groupCounts = new LinkedHashMap<>(this.groupNames.length);
+        for (int i = 0; i < counts.length; i++) {
+            groupCounts.put(this.groupNames[i], counts[i]);
+        }
+        this.groupCounts = Collections.unmodifiableMap(groupCounts);
+        return total;
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<String, Integer> groupCounts() {
+        return this.groupCounts;
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.REDIS_GROUPED;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "redis-grouped:" + this.setKey;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.util.JsonPointer;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class HttpSource implements StatusSource {
+
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_NOT_MODIFIED = 304;
+
+    private final URI uri;
+    private final JsonPointer pointer;
+    private final Duration timeout;
+    private final Map<String, String> headers;
+    private final String name;
+
+    // Last response with an ETag, answered again when the server replies 304 Not Modified
+    private volatile CachedResponse cached;
+
+    public HttpSource(final @NotNull URI uri, final @NotNull JsonPointer pointer, final int timeout, final @NotNull Map<String, String> headers) {
+        this.uri = Objects.requireNonNull(uri, "uri must not be null");
+        this.pointer = Objects.requireNonNull(pointer, "pointer must not be null");
+        Preconditions.checkRange(timeout, 1L, Integer.MAX_VALUE, "timeout");
+        this.timeout = Duration.ofMillis(timeout);
+        this.headers = Map.copyOf(Objects.requireNonNull(headers, "headers must not be null"));
+        this.name = createName(uri, pointer);
+    }
+
+    public HttpSource(final @NotNull URI uri, final @NotNull JsonPointer pointer, final int timeout) {
+        this(uri, pointer, timeout, Map.of());
+    }
+
+    @Override
+    public int fetch() {
+        final HttpResponse<String> response;
+        try {
+            response = ClientHolder.CLIENT.send(this.createRequest(), HttpResponse.BodyHandlers.ofString());
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Failed to fetch " + this.uri, exception);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + this.uri, exception);
+        }
+        return this.handle(response);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        // The client does not block a thread while waiting for the response
+        return ClientHolder.CLIENT.sendAsync(this.createRequest(), HttpResponse.BodyHandlers.ofString()).thenApply(this::handle);
+    }
+
+    // The user info and the query may contain secrets, the pointer is put in the fragment as described by RFC 6901
+    private static String createName(final URI uri, final JsonPointer pointer) {
+        final StringBuilder builder = new StringBuilder();
+        if (uri.getScheme() != null) {
+            builder.append(uri.getScheme()).append("://");
+        }
+        if (uri.getHost() != null) {
+            builder.append(uri.getHost());
+        }
+        if (uri.getPort() >= 0) {
+            builder.append(':').append(uri.getPort());
+        }
+        if (uri.getRawPath() != null) {
+            builder.append(uri.getRawPath());
+        }
+        return builder.append('#').append(pointer).toString();
+    }
+
+    private HttpRequest createRequest() {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(this.uri).timeout(this.timeout).header("Accept", "application/json");
+        this.headers.forEach(builder::setHeader);
+        final CachedResponse cached = this.cached;
+        if (cached != null) {
+            builder.header("If-None-Match", cached.etag);
+        }
+        return builder.GET().build();
+    }
+
+    private int handle(final HttpResponse<String> response) {
+        final CachedResponse cached = this.cached;
+        if (response.statusCode() == STATUS_NOT_MODIFIED && cached != null) {
+            return cached.online;
+        }
+        if (response.statusCode() != STATUS_OK) {
+            throw new IllegalStateException("Unexpected status code " + response.statusCode() + " from " + this.uri);
+        }
+
+        final int online;
+        try {
+            online = (int) Math.max(0L, Math.min(this.pointer.extractLong(response.body()), Integer.MAX_VALUE));
+        } catch (final IOException exception) {
+            throw new UncheckedIOException("Invalid response from " + this.uri, exception);
+        }
+        this.cached = response.headers().firstValue("ETag").map(etag -> new CachedResponse(etag, online)).orElse(null);
+        return online;
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.HTTP;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return this.name;
+    }
+
+    private static final class CachedResponse {
+
+        private final String etag;
+        private final int online;
+
+        private CachedResponse(final String etag, final int online) {
+            this.etag = etag;
+            this.online = online;
+        }
+
+    }
+
+    // Shared by all HTTP sources, connections to the same host are reused and multiplexed with HTTP/2
+    private static final class ClientHolder {
+
+        private static final HttpClient CLIENT = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+    }
+
+}
\ No newline at end of file
@@ -24,7 +24,12 @@
 
 package be.yvanmazy.proxyonlinelinker.common.status.source;
 
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.ping.PingEngine;
+import be.yvanmazy.proxyonlinelinker.common.ping.StatusResponseDecoder;
 import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -36,101 +41,232 @@ import java.net.Proxy;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-public class PingSource implements StatusSource {
+public class PingSource implements StatusSource, InitializableElement {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PingSource.class);
     private static final byte[] STATUS_REQUEST_PACKET = {0x00};
+    private static final byte[] STATUS_REQUEST_FRAME = {0x01, 0x00};
     private static final int MAX_JSON_BYTE_LENGTH = 32767 * 3;
+    private static final int READ_BUFFER_SIZE = 8192;
+    // Closed reused connections in a row before considering that the server does not keep them open
+    private static final int REUSE_DETECTION_ATTEMPTS = 3;
 
     private final String host;
     private final int port;
     private final int timeout;
     private final int protocol;
     private final Proxy proxy;
+    private final boolean nonBlocking;
+    private final boolean keepAlive;
 
-    private final byte[] handshakeDataPacket;
+    private final byte[] requestPackets;
+    private final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_BYTE_LENGTH);
+    private final byte[] readBuffer;
+
+    private PingEngine pingEngine;
+    private volatile InetSocketAddress address;
+    private CompletableFuture<Integer> pendingPing;
+
+    private Socket keptSocket;
+    private ReuseSupport reuseSupport = ReuseSupport.UNKNOWN;
+    private int closedReuses;
 
     public PingSource(final @NotNull String host, final int port, final int timeout, final int protocol, final @Nullable Proxy proxy) {
+        this(host, port, timeout, protocol, proxy, false, false);
+    }
+
+    public PingSource(final @NotNull String host,
+                      final int port,
+                      final int timeout,
+                      final int protocol,
+                      final @Nullable Proxy proxy,
+                      final boolean nonBlocking,
+                      final boolean keepAlive) {
         this.host = Objects.requireNonNull(host, "host must not be null");
         this.port = Preconditions.requirePort(port);
         this.timeout = Math.max(timeout, 0);
         this.protocol = protocol;
         this.proxy = proxy;
+        if (nonBlocking && proxy != null) {
+            LOGGER.warn("Non-blocking ping does not support proxies, {}:{} will be pinged in blocking mode", host, port);
+        }
+        this.nonBlocking = nonBlocking && proxy == null;
+        if (this.nonBlocking && keepAlive) {
+            LOGGER.warn("Keep-alive is not supported in non-blocking mode, {}:{} will open a connection per ping", host, port);
+        }
+        this.keepAlive = keepAlive && !this.nonBlocking;
+        this.readBuffer = this.nonBlocking ? null : new byte[READ_BUFFER_SIZE];
 
         try {
-            this.handshakeDataPacket = this.buildHandshakePacket();
+            this.requestPackets = this.buildRequestPackets();
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to build handshake packet", e);
         }
     }
 
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        if (this.nonBlocking) {
+            this.pingEngine = proxyOnlineLinker.getPingEngine();
+        }
+    }
+
     @Override
     public int fetch() {
-        try (final Socket socket = this.openSocket()) {
-            // Connect to the target server
-            socket.setSoTimeout(this.timeout);
-            socket.connect(new InetSocketAddress(this.host, this.port));
+        if (this.pingEngine != null) {
+            return this.fetchAsync(Runnable::run).join();
+        }
+        if (this.keepAlive) {
+            return this.fetchKeepAlive();
+        }
+        return this.fetchOnce();
+    }
 
-            final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
-            final DataInputStream in = new DataInputStream(socket.getInputStream());
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        if (this.pingEngine == null) {
+            return StatusSource.super.fetchAsync(executor);
+        }
+        // Resolved outside of the lock and only once, resolved again if the last ping failed
+        InetSocketAddress address = this.address;
+        if (address == null || address.isUnresolved()) {
+            this.address = address = new InetSocketAddress(this.host, this.port);
+        }
+        synchronized (this) {
+            // The decoder is reused, so concurrent callers share the ping already in progress
+            if (this.pendingPing != null && !this.pendingPing.isDone()) {
+                return this.pendingPing;
+            }
+            this.pendingPing = this.pingEngine.ping(address, this.requestPackets, this.timeout, this.decoder).exceptionally(throwable -> {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                        throwable.getCause() :
+                        throwable;
+                this.warnError("Exception=" + cause.getMessage());
+                this.address = null;
+                return -1;
+            });
+            return this.pendingPing;
+        }
+    }
 
-            writePacket(out, this.handshakeDataPacket);
+    @Override
+    public synchronized void shutdown() {
+        this.closeKeptSocket();
+    }
 
-            writePacket(out, STATUS_REQUEST_PACKET); // Status request
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.PING;
+    }
 
-            readVarInt(in); // Read packet length
-            final int packetId = readVarInt(in);
-            if (packetId != 0x00) { // Expected packet ID
-                this.warnError("Unexpected packet ID=" + packetId);
-                return -1;
-            }
+    @Override
+    public @NotNull String name() {
+        return "ping:" + this.host + ':' + this.port;
+    }
 
-            final int jsonLength = readVarInt(in);
-            if (jsonLength > MAX_JSON_BYTE_LENGTH) {
-                this.warnError("JSON length too long=" + jsonLength);
-                return -1;
-            }
-            final byte[] jsonBytes = in.readNBytes(jsonLength);
-            final String json = new String(jsonBytes, StandardCharsets.UTF_8);
+    private synchronized int fetchOnce() {
+        try (final Socket socket = this.connect()) {
+            return this.readStatus(socket.getInputStream(), false);
+        } catch (final IOException e) {
+            this.warnError("Exception=" + e.getMessage());
+            return -1;
+        }
+    }
 
-            final String needle = "\"online\":";
-            int idx = json.indexOf(needle);
-            if (idx < 0) {
-                return -1;
+    private synchronized int fetchKeepAlive() {
+        final Socket socket = this.keptSocket;
+        if (socket != null) {
+            try {
+                // The handshake is already done, only a new status request is needed
+                socket.getOutputStream().write(STATUS_REQUEST_FRAME);
+                final int online = this.readStatus(socket.getInputStream(), true);
+                this.reuseSupport = ReuseSupport.SUPPORTED;
+                this.closedReuses = 0;
+                return online;
+            } catch (final IOException e) {
+                this.closeKeptSocket();
+                if (this.reuseSupport == ReuseSupport.UNKNOWN) {
+                    this.detectReuseSupport(e);
+                }
             }
-            idx += needle.length();
-            int end = json.indexOf(',', idx);
-            if (end < 0) {
-                end = json.indexOf('}', idx);
+        }
+
+        Socket newSocket = null;
+        try {
+            newSocket = this.connect();
+            final int online = this.readStatus(newSocket.getInputStream(), true);
+            if (this.reuseSupport != ReuseSupport.UNSUPPORTED) {
+                this.keptSocket = newSocket;
+                newSocket = null;
             }
-            return Integer.parseInt(json.substring(idx, end).trim());
-        } catch (final IOException | NumberFormatException e) {
+            return online;
+        } catch (final IOException e) {
             this.warnError("Exception=" + e.getMessage());
             return -1;
+        } finally {
+            closeQuietly(newSocket);
         }
     }
 
-    @Override
-    public @NotNull StatusSourceType type() {
-        return StatusSourceType.PING;
+    private void detectReuseSupport(final IOException exception) {
+        // A transient error (timeout, restart...) says nothing, only a server closing the connection without answering does
+        if (!(exception instanceof ClosedConnectionException)) {
+            this.closedReuses = 0;
+            return;
+        }
+        if (++this.closedReuses >= REUSE_DETECTION_ATTEMPTS) {
+            this.reuseSupport = ReuseSupport.UNSUPPORTED;
+            LOGGER.info("{}:{} does not keep status connections open, a new connection will be used for each ping", this.host, this.port);
+        }
     }
 
     private void warnError(final String message) {
         LOGGER.warn("Failed to ping: {}", message);
     }
 
+    private byte[] buildRequestPackets() throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writePacket(stream, this.buildHandshakePacket());
+        writePacket(stream, STATUS_REQUEST_PACKET); // Status request
+        return stream.toByteArray();
+    }
+
     private byte[] buildHandshakePacket() throws IOException {
         final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        writeVarInt(stream, 0x00); // Packet ID
-        writeVarInt(stream, this.protocol); // Protocol ID
+        VarInt.write(stream, 0x00); // Packet ID
+        VarInt.write(stream, this.protocol); // Protocol ID
         writeString(stream, this.host); // Write host
         stream.write((this.port >>> 8) & 0xFF); // Port high‑byte
         stream.write(this.port & 0xFF); // Port low‑byte
-        writeVarInt(stream, 1); // Next state = status
+        VarInt.write(stream, 1); // Next state = status
         return stream.toByteArray();
     }
 
+    private Socket connect() throws IOException {
+        final Socket socket = this.openSocket();
+        try {
+            // Connect to the target server
+            socket.setSoTimeout(this.timeout);
+            socket.connect(new InetSocketAddress(this.host, this.port), this.timeout);
+
+            // Handshake and status request are sent in a single write
+            socket.getOutputStream().write(this.requestPackets);
+            return socket;
+        } catch (final IOException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    private void closeKeptSocket() {
+        closeQuietly(this.keptSocket);
+        this.keptSocket = null;
+    }
+
     private Socket openSocket() {
         if (this.proxy != null) {
             return new Socket(this.proxy);
@@ -138,42 +274,57 @@ public class PingSource implements StatusSource {
         return new Socket();
     }
 
-    private static void writePacket(final DataOutputStream out, final byte[] payload) throws IOException {
-        writeVarInt(out, payload.length);  // Length prefix
+    private int readStatus(final InputStream in, final boolean consumeFrame) throws IOException {
+        final StatusResponseDecoder decoder = this.decoder;
+        decoder.reset();
+        boolean received = false;
+        // Reading stops as soon as the count is found, unless the connection is reused and the whole frame must be consumed
+        while (consumeFrame ? !decoder.isFrameConsumed() : !decoder.isDone()) {
+            final int read = in.read(this.readBuffer);
+            if (read < 0) {
+                throw received ? new EOFException("Connection closed during status response") : new ClosedConnectionException();
+            }
+            received = true;
+            decoder.feed(this.readBuffer, 0, read);
+        }
+        return decoder.getOnline();
+    }
+
+    private static void closeQuietly(final Socket socket) {
+        if (socket == null) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private static void writePacket(final OutputStream out, final byte[] payload) throws IOException {
+        VarInt.write(out, payload.length);  // Length prefix
         out.write(payload);
     }
 
     private static void writeString(final OutputStream out, final String s) throws IOException {
         final byte[] data = s.getBytes(StandardCharsets.UTF_8);
-        writeVarInt(out, data.length);
+        VarInt.write(out, data.length);
         out.write(data);
     }
 
-    private static void writeVarInt(final OutputStream out, int value) throws IOException {
-        while ((value & ~0x7F) != 0) {
-            out.write((value & 0x7F) | 0x80);
-            value >>>= 7;
+    private static final class ClosedConnectionException extends EOFException {
+
+        private ClosedConnectionException() {
+            super("Connection closed before status response");
         }
-        out.write(value);
-    }
 
-    private static void writeVarInt(final DataOutputStream out, final int value) throws IOException {
-        writeVarInt((OutputStream) out, value);
     }
 
-    private static int readVarInt(final InputStream in) throws IOException {
-        int numRead = 0, result = 0, read;
-        do {
-            read = in.read();
-            if (read == -1) {
-                throw new EOFException("VarInt truncated");
-            }
-            result |= (read & 0x7F) << (7 * numRead++);
-            if (numRead > 5) {
-                throw new IOException("VarInt too long");
-            }
-        } while ((read & 0x80) != 0);
-        return result;
+    private enum ReuseSupport {
+
+        UNKNOWN,
+        SUPPORTED,
+        UNSUPPORTED
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.query.QueryEngine;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+public class QuerySource implements StatusSource, InitializableElement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuerySource.class);
+
+    private final String host;
+    private final int port;
+    private final int timeout;
+
+    private QueryEngine queryEngine;
+    private volatile InetSocketAddress address;
+    private CompletableFuture<Integer> pendingQuery;
+
+    public QuerySource(final @NotNull String host, final int port, final int timeout) {
+        this.host = Objects.requireNonNull(host, "host must not be null");
+        this.port = Preconditions.requirePort(port);
+        Preconditions.checkRange(timeout, 1L, Integer.MAX_VALUE, "timeout");
+        this.timeout = timeout;
+    }
+
+    public QuerySource(final @NotNull String host, final int port, final int timeout, final @NotNull QueryEngine queryEngine) {
+        this(host, port, timeout);
+        this.queryEngine = Objects.requireNonNull(queryEngine, "queryEngine must not be null");
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        this.queryEngine = proxyOnlineLinker.getQueryEngine();
+    }
+
+    @Override
+    public int fetch() {
+        return this.fetchAsync(Runnable::run).join();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        // Resolved outside of the lock, and again if the last query failed, in case the address of the server changed
+        InetSocketAddress address = this.address;
+        if (address == null || address.isUnresolved()) {
+            this.address = address = new InetSocketAddress(this.host, this.port);
+        }
+        synchronized (this) {
+            // Concurrent callers share the query already in progress
+            if (this.pendingQuery != null && !this.pendingQuery.isDone()) {
+                return this.pendingQuery;
+            }
+            this.pendingQuery = this.queryEngine.query(address, this.timeout).exceptionally(throwable -> {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                        throwable.getCause() :
+                        throwable;
+                LOGGER.warn("Failed to query {}:{}: {}", this.host, this.port, cause.getMessage());
+                this.address = null;
+                return -1;
+            });
+            return this.pendingQuery;
+        }
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.QUERY;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "query:" + this.host + ':' + this.port;
+    }
+
+}
\ No newline at end of file
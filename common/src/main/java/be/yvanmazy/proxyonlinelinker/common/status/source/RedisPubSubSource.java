@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.redis.CountMessage;
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.ShardedKeys;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.JedisPubSub;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class RedisPubSubSource implements StatusSource, InitializableElement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisPubSubSource.class);
+    private static final long RECONNECT_DELAY = 1000L;
+
+    private final List<String> keys;
+    private final String channel;
+    private final long resyncInterval;
+
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Object countsLock = new Object();
+    // Messages received while the set-key is read, applied again on top of the read counts
+    private Map<String, Integer> resyncUpdates;
+    private volatile int total;
+    private volatile long lastResync;
+    private volatile boolean running;
+
+    private JedisProvider jedisProvider;
+    private Thread subscriber;
+    private final JedisPubSub pubSub = new JedisPubSub() {
+        @Override
+        public void onSubscribe(final String channel, final int subscribedChannels) {
+            // Messages may have been missed while not subscribed
+            RedisPubSubSource.this.lastResync = 0L;
+        }
+
+        @Override
+        public void onMessage(final String channel, final String message) {
+            RedisPubSubSource.this.handleMessage(message);
+        }
+    };
+
+    public RedisPubSubSource(final @NotNull String setKey, final @NotNull String channel, final long resyncInterval, final int shards) {
+        this.keys = ShardedKeys.keys(Preconditions.requireNonBlank(setKey, "setKey"), shards);
+        this.channel = Preconditions.requireNonBlank(channel, "channel");
+        // Servers whose field expired without publishing their removal are only dropped by a resync
+        Preconditions.checkRange(resyncInterval, 1L, Long.MAX_VALUE, "resyncInterval");
+        this.resyncInterval = resyncInterval;
+    }
+
+    public RedisPubSubSource(final @NotNull String setKey,
+                             final @NotNull String channel,
+                             final long resyncInterval,
+                             final int shards,
+                             final @NotNull JedisProvider jedisProvider) {
+        this(setKey, channel, resyncInterval, shards);
+        this.jedisProvider = Objects.requireNonNull(jedisProvider, "jedisProvider must not be null");
+        this.startSubscriber();
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        this.jedisProvider = proxyOnlineLinker.getSafeJedisProvider();
+        this.startSubscriber();
+    }
+
+    @Override
+    public int fetch() {
+        final long now = System.currentTimeMillis();
+        if (this.lastResync == 0L || now - this.lastResync >= this.resyncInterval) {
+            this.resync(now);
+        }
+        return this.total;
+    }
+
+    @Override
+    public void shutdown() {
+        this.running = false;
+        if (this.pubSub.isSubscribed()) {
+            this.pubSub.unsubscribe();
+        }
+        if (this.subscriber != null) {
+            this.subscriber.interrupt();
+        }
+    }
+
+    private synchronized void startSubscriber() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        this.subscriber = new Thread(this::subscribeLoop, "ProxyOnlineLinker Redis Subscriber");
+        this.subscriber.setDaemon(true);
+        this.subscriber.start();
+    }
+
+    private void subscribeLoop() {
+        while (this.running) {
+            try {
+                // Blocks until unsubscribed or disconnected
+                this.jedisProvider.getJedis().subscribe(this.pubSub, this.channel);
+            } catch (final Exception exception) {
+                if (!this.running) {
+                    return;
+                }
+                LOGGER.warn("Lost subscription to Redis channel {}, retrying in {}ms", this.channel, RECONNECT_DELAY, exception);
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void resync(final long now) {
+        synchronized (this.countsLock) {
+            this.resyncUpdates = new HashMap<>();
+        }
+        List<Map<String, String>> shards = null;
+        try {
+            shards = ShardedKeys.readAll(this.jedisProvider.getJedis(), this.keys);
+        } finally {
+            synchronized (this.countsLock) {
+                if (shards != null) {
+                    this.applySnapshot(shards);
+                }
+                this.resyncUpdates = null;
+            }
+        }
+        this.lastResync = now;
+    }
+
+    private void applySnapshot(final List<Map<String, String>> shards) {
+        this.counts.clear();
+        for (final Map<String, String> values : shards) {
+            for (final Map.Entry<String, String> entry : values.entrySet()) {
+                try {
+                    this.counts.put(entry.getKey(), Integer.parseInt(entry.getValue()));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        // The read may be older than the messages received meanwhile
+        for (final Map.Entry<String, Integer> update : this.resyncUpdates.entrySet()) {
+            if (update.getValue() < 0) {
+                this.counts.remove(update.getKey());
+            } else {
+                this.counts.put(update.getKey(), update.getValue());
+            }
+        }
+        int total = 0;
+        for (final int count : this.counts.values()) {
+            total += count;
+        }
+        this.total = total;
+    }
+
+    private void handleMessage(final String message) {
+        final int separator = CountMessage.separator(message);
+        if (separator <= 0) {
+            return;
+        }
+        final String serverId = message.substring(0, separator);
+        final int count;
+        try {
+            count = Integer.parseInt(message.substring(separator + 1));
+        } catch (final NumberFormatException ignored) {
+            return;
+        }
+        synchronized (this.countsLock) {
+            if (this.resyncUpdates != null) {
+                this.resyncUpdates.put(serverId, count);
+            }
+            final Integer previous = count < 0 ? this.counts.remove(serverId) : this.counts.put(serverId, count);
+            this.total += Math.max(count, 0) - (previous != null ? previous : 0);
+        }
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.REDIS_PUBSUB;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "redis-pubsub:" + this.channel;
+    }
+
+}
\ No newline at end of file
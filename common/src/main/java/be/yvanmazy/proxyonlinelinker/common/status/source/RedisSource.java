@@ -26,17 +26,71 @@ package be.yvanmazy.proxyonlinelinker.common.status.source;
 
 import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
 import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.redis.AsyncJedisProvider;
 import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.RedisScript;
+import be.yvanmazy.proxyonlinelinker.common.redis.ShardedKeys;
 import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
 import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class RedisSource implements StatusSource, InitializableElement {
 
+    private static final RedisScript SUM_SCRIPT = new RedisScript("""
+            local total = 0
+            for _, value in ipairs(redis.call('HVALS', KEYS[1])) do
+                local count = tonumber(value)
+                if count then
+                    total = total + count
+                end
+            end
+            return total
+            """);
+
     private JedisProvider jedisProvider;
     private final String setKey;
+    private final boolean serverSideSum;
+    private final List<String> keys;
+    private final List<String> scriptKeys;
 
-    public RedisSource(final @NotNull String setKey) {
+    public RedisSource(final @NotNull String setKey, final boolean serverSideSum, final int shards) {
         this.setKey = Preconditions.requireNonBlank(setKey, "setKey");
+        this.serverSideSum = serverSideSum;
+        this.keys = ShardedKeys.keys(setKey, shards);
+        this.scriptKeys = List.of(setKey);
+    }
+
+    public RedisSource(final @NotNull String setKey, final boolean serverSideSum) {
+        this(setKey, serverSideSum, 1);
+    }
+
+    public RedisSource(final @NotNull String setKey) {
+        this(setKey, false);
+    }
+
+    public RedisSource(final @NotNull String setKey,
+                       final boolean serverSideSum,
+                       final int shards,
+                       final @NotNull JedisProvider jedisProvider) {
+        this(setKey, serverSideSum, shards);
+        this.jedisProvider = Objects.requireNonNull(jedisProvider, "jedisProvider must not be null");
+    }
+
+    public RedisSource(final @NotNull String setKey, final boolean serverSideSum, final @NotNull JedisProvider jedisProvider) {
+        this(setKey, serverSideSum);
+        this.jedisProvider = Objects.requireNonNull(jedisProvider, "jedisProvider must not be null");
+    }
+
+    public RedisSource(final @NotNull String setKey, final @NotNull JedisProvider jedisProvider) {
+        this(setKey, false, jedisProvider);
     }
 
     @Override
@@ -46,8 +100,67 @@ public class RedisSource implements StatusSource, InitializableElement {
 
     @Override
     public int fetch() {
+        return this.fetch(this.jedisProvider.getJedis());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        if (this.jedisProvider instanceof final AsyncJedisProvider asyncProvider) {
+            return asyncProvider.submit(this::fetch);
+        }
+        return StatusSource.super.fetchAsync(executor);
+    }
+
+    private int fetch(final UnifiedJedis jedis) {
+        if (this.keys.size() > 1) {
+            return this.fetchSharded(jedis);
+        }
+        if (this.serverSideSum) {
+            return toCount(SUM_SCRIPT.eval(jedis, this.scriptKeys, List.of()));
+        }
+        return sum(jedis.hvals(this.setKey));
+    }
+
+    private int fetchSharded(final UnifiedJedis jedis) {
+        try {
+            return this.sumShards(jedis);
+        } catch (final JedisNoScriptException exception) {
+            for (final String key : this.keys) {
+                SUM_SCRIPT.load(jedis, List.of(key));
+            }
+            return this.sumShards(jedis);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int sumShards(final UnifiedJedis jedis) {
+        // In cluster mode, the pipeline groups the commands by node and sends them to all nodes at once
+        final Response<?>[] responses = new Response[this.keys.size()];
+        try (final AbstractPipeline pipeline = jedis.pipelined()) {
+            for (int i = 0; i < responses.length; i++) {
+                final String key = this.keys.get(i);
+                responses[i] = this.serverSideSum ? pipeline.evalsha(SUM_SCRIPT.sha(), List.of(key), List.of()) : pipeline.hvals(key);
+            }
+            pipeline.sync();
+        }
+        long total = 0L;
+        for (final Response<?> response : responses) {
+            if (this.serverSideSum) {
+                final int count = toCount(response.get());
+                if (count < 0) {
+                    return -1;
+                }
+                total += count;
+            } else {
+                total += sum((List<String>) response.get());
+            }
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    private static int sum(final List<String> values) {
         int total = 0;
-        for (final String string : this.jedisProvider.getJedis().hvals(this.setKey)) {
+        for (final String string : values) {
             try {
                 total += Integer.parseInt(string);
             } catch (final NumberFormatException ignored) {
@@ -56,9 +169,18 @@ public class RedisSource implements StatusSource, InitializableElement {
         return total;
     }
 
+    private static int toCount(final Object result) {
+        return result instanceof final Long total ? (int) Math.min(total, Integer.MAX_VALUE) : -1;
+    }
+
     @Override
     public @NotNull StatusSourceType type() {
         return StatusSourceType.REDIS;
     }
 
+    @Override
+    public @NotNull String name() {
+        return "redis:" + this.setKey;
+    }
+
 }
\ No newline at end of file
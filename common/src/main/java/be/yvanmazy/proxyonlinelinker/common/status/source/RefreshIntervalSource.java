@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.InitializableElement;
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class RefreshIntervalSource implements StatusSource, InitializableElement {
+
+    private final StatusSource delegate;
+    private final long refreshInterval;
+
+    public RefreshIntervalSource(final @NotNull StatusSource delegate, final @Range(from = 1L, to = Long.MAX_VALUE) long refreshInterval) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        Preconditions.checkRange(refreshInterval, 1L, Long.MAX_VALUE, "refreshInterval");
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public void init(final @NotNull ProxyOnlineLinker proxyOnlineLinker) {
+        if (this.delegate instanceof final InitializableElement element) {
+            element.init(proxyOnlineLinker);
+        }
+    }
+
+    @Override
+    public int fetch() {
+        return this.delegate.fetch();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        return this.delegate.fetchAsync(executor);
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public @NotNull @Unmodifiable Map<String, Integer> groupCounts() {
+        return this.delegate.groupCounts();
+    }
+
+    @Override
+    public long refreshInterval() {
+        return this.refreshInterval;
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return this.delegate.type();
+    }
+
+    @Override
+    public @NotNull String name() {
+        return this.delegate.name();
+    }
+
+}
\ No newline at end of file
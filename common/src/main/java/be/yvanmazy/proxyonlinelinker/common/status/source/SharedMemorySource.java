@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.status.source;
+
+import be.yvanmazy.proxyonlinelinker.common.sharedmemory.SharedMemoryFile;
+import be.yvanmazy.proxyonlinelinker.common.util.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public class SharedMemorySource implements StatusSource {
+
+    private final Path path;
+    private final int slots;
+
+    private volatile SharedMemoryFile file;
+
+    public SharedMemorySource(final @NotNull Path path, final int slots) {
+        this.path = Objects.requireNonNull(path, "path must not be null");
+        Preconditions.checkRange(slots, 1L, Integer.MAX_VALUE, "slots");
+        this.slots = slots;
+    }
+
+    @Override
+    public int fetch() {
+        return (int) Math.min(this.file().sum(), Integer.MAX_VALUE);
+    }
+
+    private SharedMemoryFile file() {
+        SharedMemoryFile file = this.file;
+        if (file == null) {
+            synchronized (this) {
+                file = this.file;
+                if (file == null) {
+                    try {
+                        this.file = file = SharedMemoryFile.open(this.path, this.slots);
+                    } catch (final IOException exception) {
+                        throw new UncheckedIOException("Failed to open shared memory file " + this.path, exception);
+                    }
+                }
+            }
+        }
+        return file;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (this.file != null) {
+            try {
+                this.file.close();
+            } catch (final IOException ignored) {
+            }
+            this.file = null;
+        }
+    }
+
+    @Override
+    public @NotNull StatusSourceType type() {
+        return StatusSourceType.SHARED_MEMORY;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "shared-memory:" + this.path;
+    }
+
+}
\ No newline at end of file
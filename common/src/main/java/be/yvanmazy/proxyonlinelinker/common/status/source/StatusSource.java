@@ -27,13 +27,44 @@ package be.yvanmazy.proxyonlinelinker.common.status.source;
 import org.jetbrains.annotations.CheckReturnValue;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface StatusSource {
 
     @CheckReturnValue
     int fetch();
 
+    @CheckReturnValue
+    default @NotNull CompletableFuture<Integer> fetchAsync(final @NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(this::fetch, executor);
+    }
+
+    default void shutdown() {
+    }
+
+    // Counts of the named groups computed during the last fetch, empty for sources without groups
+    @Contract(pure = true)
+    default @NotNull @Unmodifiable Map<String, Integer> groupCounts() {
+        return Map.of();
+    }
+
+    // Interval used when sources are scheduled independently, -1 to use the global cache expiration
+    @Contract(pure = true)
+    default long refreshInterval() {
+        return -1L;
+    }
+
     @Contract(pure = true)
     @NotNull StatusSourceType type();
 
+    @Contract(pure = true)
+    default @NotNull String name() {
+        return this.type().name().toLowerCase(Locale.ROOT);
+    }
+
 }
\ No newline at end of file
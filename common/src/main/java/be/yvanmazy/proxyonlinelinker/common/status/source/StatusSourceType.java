@@ -24,22 +24,35 @@
 
 package be.yvanmazy.proxyonlinelinker.common.status.source;
 
+import be.yvanmazy.proxyonlinelinker.common.aggregator.AggregatorProtocol;
+import be.yvanmazy.proxyonlinelinker.common.sharedmemory.SharedMemoryFile;
+import be.yvanmazy.proxyonlinelinker.common.util.JsonPointer;
 import be.yvanmazy.proxyonlinelinker.common.util.MapTypeAccessor;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 public enum StatusSourceType {
 
-    SELF(accessor -> new SelfSource()),
-    PING(accessor -> {
+    SELF(false, accessor -> new SelfSource()),
+    PING(false, accessor -> {
         final String host = accessor.getString("host");
         final int port = accessor.getInt("port", 25565);
         final int timeout = accessor.getInt("timeout", 5000);
         final int protocol = accessor.getInt("protocol", 759); // (759 = 1.20.4)
+        final boolean nonBlocking = accessor.getBoolean("non-blocking", false);
+        final boolean keepAlive = accessor.getBoolean("keep-alive", false);
 
         final Proxy proxy;
         final MapTypeAccessor proxyAccessor = accessor.getSubAccessor("proxy", MapTypeAccessor.EMPTY);
@@ -53,19 +66,89 @@ public enum StatusSourceType {
             proxy = null;
         }
 
-        return new PingSource(host, port, timeout, protocol, proxy);
+        return new PingSource(host, port, timeout, protocol, proxy, nonBlocking, keepAlive);
     }),
-    REDIS(accessor -> {
+    QUERY(false, accessor -> {
+        final String host = accessor.getString("host");
+        final int port = accessor.getInt("port", 25565);
+        final int timeout = accessor.getInt("timeout", 2000);
+        return new QuerySource(host, port, timeout);
+    }),
+    REDIS(true, accessor -> {
+        final String setKey = accessor.getString("set-key");
+        final boolean serverSideSum = accessor.getBoolean("server-side-sum", false);
+        final int shards = accessor.getInt("shards", 1);
+        return new RedisSource(setKey, serverSideSum, shards);
+    }),
+    REDIS_GROUPED(true, accessor -> {
         final String setKey = accessor.getString("set-key");
-        return new RedisSource(setKey);
+        final int shards = accessor.getInt("shards", 1);
+        final MapTypeAccessor groupsAccessor = accessor.getSubAccessor("groups");
+        final Map<String, Pattern> groups = new LinkedHashMap<>();
+        for (final String group : groupsAccessor.keys()) {
+            groups.put(group, Pattern.compile(groupsAccessor.getString(group)));
+        }
+        return new GroupedRedisSource(setKey, shards, groups);
+    }),
+    GOSSIP(false, accessor -> {
+        final String bindHost = accessor.getString("bind-host", "127.0.0.1");
+        final int port = accessor.getInt("port");
+        final String network = accessor.getString("network", "default");
+        final String multicastGroup = accessor.getString("multicast-group", "");
+        final String networkInterface = accessor.getString("network-interface", "");
+        final String secret = accessor.getString("secret", "");
+        final InetAddress group;
+        try {
+            group = multicastGroup.isBlank() ? null : InetAddress.getByName(multicastGroup);
+        } catch (final UnknownHostException exception) {
+            throw new IllegalArgumentException("Unknown multicast group: " + multicastGroup, exception);
+        }
+        return new GossipSource(new InetSocketAddress(bindHost, port), network, group, networkInterface, secret);
+    }),
+    AGGREGATOR(false, accessor -> {
+        final String host = accessor.getString("host");
+        final int port = accessor.getInt("port", AggregatorProtocol.DEFAULT_PORT);
+        final int timeout = accessor.getInt("timeout", 5000);
+        final String secret = accessor.getString("secret", "");
+        return new AggregatorSource(new InetSocketAddress(host, port), timeout, secret);
+    }),
+    SHARED_MEMORY(false, accessor -> {
+        final String path = accessor.getString("path", SharedMemoryFile.DEFAULT_PATH);
+        final int slots = accessor.getInt("slots", SharedMemoryFile.DEFAULT_SLOTS);
+        return new SharedMemorySource(Path.of(path), slots);
+    }),
+    HTTP(false, accessor -> {
+        final String url = accessor.getString("url");
+        final String pointer = accessor.getString("pointer");
+        final int timeout = accessor.getInt("timeout", 5000);
+        final MapTypeAccessor headersAccessor = accessor.getSubAccessor("headers", MapTypeAccessor.EMPTY);
+        final Map<String, String> headers = new LinkedHashMap<>();
+        for (final String header : headersAccessor.keys()) {
+            headers.put(header, headersAccessor.getString(header));
+        }
+        return new HttpSource(URI.create(url), JsonPointer.parse(pointer), timeout, headers);
+    }),
+    REDIS_PUBSUB(true, accessor -> {
+        final String setKey = accessor.getString("set-key");
+        final String channel = accessor.getString("channel");
+        final long resyncInterval = accessor.getLong("resync-interval", 30000L);
+        final int shards = accessor.getInt("shards", 1);
+        return new RedisPubSubSource(setKey, channel, resyncInterval, shards);
     });
 
+    private final boolean requiresRedis;
     private final Function<MapTypeAccessor, StatusSource> factory;
 
-    StatusSourceType(final Function<MapTypeAccessor, StatusSource> factory) {
+    StatusSourceType(final boolean requiresRedis, final Function<MapTypeAccessor, StatusSource> factory) {
+        this.requiresRedis = requiresRedis;
         this.factory = factory;
     }
 
+    @Contract(pure = true)
+    public boolean requiresRedis() {
+        return this.requiresRedis;
+    }
+
     public @NotNull StatusSource create(final @NotNull MapTypeAccessor accessor) {
         return this.factory.apply(Objects.requireNonNull(accessor, "accessor must not be null"));
     }
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Objects;
+
+// RFC 6901 pointer to a number of a JSON document, the document is scanned without being fully parsed
+public final class JsonPointer {
+
+    private final String pointer;
+    private final String[] tokens;
+
+    private JsonPointer(final String pointer, final String[] tokens) {
+        this.pointer = pointer;
+        this.tokens = tokens;
+    }
+
+    @Contract(pure = true)
+    public static @NotNull JsonPointer parse(final @NotNull String pointer) {
+        Objects.requireNonNull(pointer, "pointer must not be null");
+        if (pointer.isEmpty()) {
+            return new JsonPointer(pointer, new String[0]);
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON pointer must start with '/': " + pointer);
+        }
+        final String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+        }
+        return new JsonPointer(pointer, tokens);
+    }
+
+    public long extractLong(final @NotNull CharSequence json) throws IOException {
+        final Scanner scanner = new Scanner(Objects.requireNonNull(json, "json must not be null"));
+        for (final String token : this.tokens) {
+            scanner.skipWhitespace();
+            final char c = scanner.peek();
+            if (c == '{') {
+                scanner.findMember(token, this.pointer);
+            } else if (c == '[') {
+                scanner.findElement(token, this.pointer);
+            } else {
+                throw new IOException("No value at " + this.pointer);
+            }
+        }
+        scanner.skipWhitespace();
+        return scanner.readLong(this.pointer);
+    }
+
+    @Override
+    public String toString() {
+        return this.pointer;
+    }
+
+    private static final class Scanner {
+
+        private final CharSequence json;
+        private int position;
+
+        private Scanner(final CharSequence json) {
+            this.json = json;
+        }
+
+        private void findMember(final String name, final String pointer) throws IOException {
+            this.expect('{');
+            this.skipWhitespace();
+            if (this.peek() == '}') {
+                throw new IOException("No value at " + pointer);
+            }
+            while (true) {
+                this.skipWhitespace();
+                final String key = this.readString();
+                this.skipWhitespace();
+                this.expect(':');
+                if (key.equals(name)) {
+                    return;
+                }
+                this.skipValue();
+                this.skipWhitespace();
+                if (this.next() != ',') {
+                    throw new IOException("No value at " + pointer);
+                }
+            }
+        }
+
+        private void findElement(final String token, final String pointer) throws IOException {
+            final int index;
+            try {
+                index = Integer.parseInt(token);
+            } catch (final NumberFormatException exception) {
+                throw new IOException("Invalid array index in " + pointer, exception);
+            }
+            this.expect('[');
+            for (int i = 0; i < index; i++) {
+                this.skipWhitespace();
+                if (this.peek() == ']') {
+                    throw new IOException("No value at " + pointer);
+                }
+                this.skipValue();
+                this.skipWhitespace();
+                if (this.next() != ',') {
+                    throw new IOException("No value at " + pointer);
+                }
+            }
+            this.skipWhitespace();
+            if (this.peek() == ']') {
+                throw new IOException("No value at " + pointer);
+            }
+        }
+
+        private long readLong(final String pointer) throws IOException {
+            final int start = this.position;
+            while (this.position < this.json.length() && "+-0123456789.eE".indexOf(this.json.charAt(this.position)) >= 0) {
+                this.position++;
+            }
+            if (start == this.position) {
+                throw new IOException("Value at " + pointer + " is not a number");
+            }
+            final String number = this.json.subSequence(start, this.position).toString();
+            try {
+                return Long.parseLong(number);
+            } catch (final NumberFormatException ignored) {
+                try {
+                    return (long) Double.parseDouble(number);
+                } catch (final NumberFormatException exception) {
+                    throw new IOException("Value at " + pointer + " is not a number", exception);
+                }
+            }
+        }
+
+        private void skipValue() throws IOException {
+            this.skipWhitespace();
+            final char c = this.peek();
+            if (c == '"') {
+                this.readString();
+            } else if (c == '{' || c == '[') {
+                // Nested values are skipped by depth, strings are skipped as they may contain brackets
+                int depth = 0;
+                do {
+                    final char current = this.peek();
+                    if (current == '"') {
+                        this.readString();
+                        continue;
+                    }
+                    this.position++;
+                    if (current == '{' || current == '[') {
+                        depth++;
+                    } else if (current == '}' || current == ']') {
+                        depth--;
+                    }
+                } while (depth > 0);
+            } else {
+                while (this.position < this.json.length() && ",}] \t\r\n".indexOf(this.json.charAt(this.position)) < 0) {
+                    this.position++;
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            this.expect('"');
+            final StringBuilder builder = new StringBuilder();
+            while (true) {
+                final char c = this.next();
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+                final char escaped = this.next();
+                switch (escaped) {
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> {
+                        if (this.position + 4 > this.json.length()) {
+                            throw new IOException("Unexpected end of JSON");
+                        }
+                        try {
+                            builder.append((char) Integer.parseInt(this.json.subSequence(this.position, this.position + 4).toString(), 16));
+                        } catch (final NumberFormatException exception) {
+                            throw new IOException("Invalid unicode escape in JSON", exception);
+                        }
+                        this.position += 4;
+                    }
+                    default -> builder.append(escaped);
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position))) {
+                this.position++;
+            }
+        }
+
+        private void expect(final char expected) throws IOException {
+            final char c = this.next();
+            if (c != expected) {
+                throw new IOException("Expected '" + expected + "' but found '" + c + "' in JSON");
+            }
+        }
+
+        private char peek() throws IOException {
+            if (this.position >= this.json.length()) {
+                throw new IOException("Unexpected end of JSON");
+            }
+            return this.json.charAt(this.position);
+        }
+
+        private char next() throws IOException {
+            final char c = this.peek();
+            this.position++;
+            return c;
+        }
+
+    }
+
+}
\ No newline at end of file
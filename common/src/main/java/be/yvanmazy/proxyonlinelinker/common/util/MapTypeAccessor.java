@@ -26,9 +26,13 @@ package be.yvanmazy.proxyonlinelinker.common.util;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public class MapTypeAccessor {
 
@@ -40,6 +44,10 @@ public class MapTypeAccessor {
         this.map = Objects.requireNonNull(map, "map must not be null");
     }
 
+    public @NotNull @Unmodifiable Set<String> keys() {
+        return Collections.unmodifiableSet(this.map.keySet());
+    }
+
     public @Nullable Object getRawObject(final @NotNull String key) {
         return this.map.get(key);
     }
@@ -122,6 +130,22 @@ public class MapTypeAccessor {
         return defaultValue;
     }
 
+    @SuppressWarnings("unchecked")
+    public @NotNull List<String> getStringList(final @NotNull String key) {
+        if (this.getObject(key) instanceof final List<?> list && isStringList(list)) {
+            return (List<String>) list;
+        }
+        throw new ClassCastException("Value for key " + key + " is not a List of String");
+    }
+
+    @SuppressWarnings("unchecked")
+    public @NotNull List<String> getStringList(final @NotNull String key, final @NotNull List<String> defaultValue) {
+        if (this.getRawObject(key) instanceof final List<?> list && isStringList(list)) {
+            return (List<String>) list;
+        }
+        return defaultValue;
+    }
+
     @SuppressWarnings("unchecked")
     public @NotNull MapTypeAccessor getSubAccessor(final @NotNull String key) {
         if (this.getRawObject(key) instanceof final Map<?, ?> rawMap && isCorrectlyTyped(rawMap)) {
@@ -138,6 +162,15 @@ public class MapTypeAccessor {
         return defaultValue;
     }
 
+    private static boolean isStringList(final List<?> list) {
+        for (final Object element : list) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean isCorrectlyTyped(final Map<?, ?> map) {
         if (map.isEmpty()) {
             return true;
@@ -79,6 +79,13 @@ public final class Preconditions {
         }
     }
 
+    @Contract(pure = true)
+    public static void checkRange(final double value, final double minValue, final double maxValue, final String name) {
+        if (!(value >= minValue && value <= maxValue)) {
+            throw new IllegalArgumentException(name + " must be between " + minValue + " and " + maxValue);
+        }
+    }
+
     @Contract(pure = true)
     public static @NotNull String requireNonBlank(final String string, final String name) {
         checkNotNull(string, name);
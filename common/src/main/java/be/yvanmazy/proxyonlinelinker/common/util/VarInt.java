@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+public final class VarInt {
+
+    public static final int MAX_SIZE = 5;
+
+    private VarInt() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    @Contract(pure = true)
+    public static int size(final int value) {
+        int size = 1;
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            remaining >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static void write(final @NotNull OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    public static void write(final @NotNull ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int read(final @NotNull InputStream in) throws IOException {
+        int numRead = 0, result = 0, read;
+        do {
+            read = in.read();
+            if (read == -1) {
+                throw new EOFException("VarInt truncated");
+            }
+            result |= (read & 0x7F) << (7 * numRead++);
+            if (numRead > MAX_SIZE) {
+                throw new IOException("VarInt too long");
+            }
+        } while ((read & 0x80) != 0);
+        return result;
+    }
+
+    public static int read(final @NotNull ByteBuffer buffer) throws IOException {
+        int numRead = 0, result = 0, read;
+        try {
+            do {
+                read = buffer.get();
+                result |= (read & 0x7F) << (7 * numRead++);
+                if (numRead > MAX_SIZE) {
+                    throw new IOException("VarInt too long");
+                }
+            } while ((read & 0x80) != 0);
+        } catch (final BufferUnderflowException exception) {
+            throw new EOFException("VarInt truncated");
+        }
+        return result;
+    }
+
+}
\ No newline at end of file
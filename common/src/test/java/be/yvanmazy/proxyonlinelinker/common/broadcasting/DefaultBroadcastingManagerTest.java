@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.broadcasting;
+
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTarget;
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.BroadcastingTargetType;
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.PipelinedTarget;
+import be.yvanmazy.proxyonlinelinker.common.config.DummyConfiguration;
+import be.yvanmazy.proxyonlinelinker.common.metrics.FetchMetrics;
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultBroadcastingManagerTest {
+
+    private static final long TIMEOUT = 5000L;
+
+    @Test
+    void testThrowingCompletionInBatch() throws InterruptedException {
+        final MetricsRegistry registry = new ThrowingRegistry();
+        final JedisProvider provider = new JedisProvider() {
+            @Override
+            public @NotNull UnifiedJedis getJedis() {
+                throw new IllegalStateException("Unavailable");
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+        final DummyConfiguration.Broadcasting config = config(List.of(new TestTarget("failing", provider), new TestTarget("working", provider)));
+        config.setBatching(true);
+
+        final DefaultBroadcastingManager manager = new DefaultBroadcastingManager(() -> 10, registry);
+        manager.start(config);
+        try {
+            // The other target of the batch must not stay in flight
+            assertTrue(waitFor(() -> registry.target("working").failures() >= 3));
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @Test
+    void testThrowingCompletion() throws InterruptedException {
+        final AtomicInteger broadcasts = new AtomicInteger();
+        final BroadcastingTarget target = new TestTarget("failing", null) {
+            @Override
+            public void broadcast(final int online) {
+                broadcasts.incrementAndGet();
+            }
+        };
+
+        final DefaultBroadcastingManager manager = new DefaultBroadcastingManager(() -> 10, new ThrowingRegistry());
+        manager.start(config(List.of(target)));
+        try {
+            assertTrue(waitFor(() -> broadcasts.get() >= 3));
+        } finally {
+            manager.stop();
+        }
+    }
+
+    private static DummyConfiguration.Broadcasting config(final List<BroadcastingTarget> targets) {
+        final DummyConfiguration.Broadcasting config = new DummyConfiguration.Broadcasting();
+        config.setEnabled(true);
+        config.setUpdatingInterval(10L);
+        config.setRawTargets(targets);
+        return config;
+    }
+
+    private static boolean waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10L);
+        }
+        return true;
+    }
+
+    // Every completion of the "failing" target throws
+    private static final class ThrowingRegistry extends MetricsRegistry {
+
+        @Override
+        public @NotNull FetchMetrics target(final @NotNull String name) {
+            if (!name.equals("failing")) {
+                return super.target(name);
+            }
+            return new FetchMetrics(name) {
+                @Override
+                public void recordSuccess(final long nanos, final int value) {
+                    throw new IllegalStateException("Success");
+                }
+
+                @Override
+                public void recordFailure(final long nanos) {
+                    throw new IllegalStateException("Failure");
+                }
+            };
+        }
+
+    }
+
+    private static class TestTarget implements PipelinedTarget {
+
+        private final String name;
+        private final JedisProvider provider;
+
+        private TestTarget(final String name, final JedisProvider provider) {
+            this.name = name;
+            this.provider = provider;
+        }
+
+        @Override
+        public JedisProvider batchProvider() {
+            return this.provider;
+        }
+
+        @Override
+        public void broadcast(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses) {
+        }
+
+        @Override
+        public void refresh(final @NotNull AbstractPipeline pipeline, final int online, final @NotNull List<Response<?>> responses) {
+        }
+
+        @Override
+        public void broadcast(final int online) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public @NotNull BroadcastingTargetType type() {
+            return BroadcastingTargetType.REDIS;
+        }
+
+        @Override
+        public @NotNull String name() {
+            return this.name;
+        }
+
+    }
+
+}
\ No newline at end of file
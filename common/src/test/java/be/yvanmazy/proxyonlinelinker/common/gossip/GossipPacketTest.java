@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.gossip;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GossipPacketTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        final GossipPacket packet = decode(encode("net", "lobby1", 42L, 17, "secret"), "net", "secret");
+        assertNotNull(packet);
+        assertEquals("lobby1", packet.serverId());
+        assertEquals(42L, packet.sequence());
+        assertEquals(17, packet.online());
+        assertEquals(30, packet.expireSeconds());
+
+        final GossipPacket removed = decode(encode("net", "lobby1", 43L, GossipPacket.REMOVED, null), "net", null);
+        assertNotNull(removed);
+        assertEquals(GossipPacket.REMOVED, removed.online());
+    }
+
+    @Test
+    void testOtherNetwork() throws IOException {
+        assertNull(decode(encode("other", "lobby1", 1L, 5, "secret"), "net", "secret"));
+    }
+
+    @Test
+    void testSignature() throws IOException {
+        assertThrows(IOException.class, () -> decode(encode("net", "lobby1", 1L, 5, "wrong"), "net", "secret"));
+        assertThrows(IOException.class, () -> decode(encode("net", "lobby1", 1L, 5, null), "net", "secret"));
+
+        final ByteBuffer tampered = encode("net", "lobby1", 1L, 5, "secret");
+        final int onlineIndex = tampered.limit() - 32 - 2;
+        tampered.put(onlineIndex, (byte) (tampered.get(onlineIndex) + 1));
+        assertThrows(IOException.class, () -> GossipPacket.decode(tampered, "net", GossipPacket.createMac("secret")));
+
+        final ByteBuffer truncated = encode("net", "lobby1", 1L, 5, "secret");
+        truncated.limit(truncated.limit() - 1);
+        assertThrows(IOException.class, () -> GossipPacket.decode(truncated, "net", GossipPacket.createMac("secret")));
+
+        // A source without secret does not check the signature
+        assertNotNull(decode(encode("net", "lobby1", 1L, 5, "secret"), "net", null));
+    }
+
+    private static ByteBuffer encode(final String network, final String serverId, final long sequence, final int online, final String secret) {
+        final ByteBuffer buffer = ByteBuffer.allocate(GossipPacket.MAX_SIZE);
+        GossipPacket.encode(buffer, network, serverId, sequence, online, 30, GossipPacket.createMac(secret));
+        return buffer.flip();
+    }
+
+    private static GossipPacket decode(final ByteBuffer buffer, final String network, final String secret) throws IOException {
+        return GossipPacket.decode(buffer, network, GossipPacket.createMac(secret));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.metrics.exporter;
+
+import be.yvanmazy.proxyonlinelinker.common.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusExporterTest {
+
+    @Test
+    void testLastSuccessPerSource() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final long before = System.currentTimeMillis();
+        registry.source("ping:lobby").recordSuccess(1_000_000L, 12);
+        registry.source("ping:game").recordFailure(1_000_000L);
+
+        final String output = PrometheusExporter.format(registry);
+        assertTrue(output.contains("# TYPE proxyonlinelinker_source_fetch_last_success_timestamp_seconds gauge\n"));
+        assertTrue(output.contains("proxyonlinelinker_source_fetch_last_success_timestamp_seconds{source=\"ping:game\"} NaN\n"));
+
+        final String prefix = "proxyonlinelinker_source_fetch_last_success_timestamp_seconds{source=\"ping:lobby\"} ";
+        final int start = output.indexOf(prefix);
+        assertTrue(start >= 0);
+        final double timestamp = Double.parseDouble(output.substring(start + prefix.length(), output.indexOf('\n', start)));
+        assertTrue(timestamp >= before / 1000.0D && timestamp <= System.currentTimeMillis() / 1000.0D);
+    }
+
+}
\ No newline at end of file
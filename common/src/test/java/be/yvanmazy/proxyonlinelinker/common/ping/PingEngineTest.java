@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.ping;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PingEngineTest {
+
+    private static final byte[] REQUEST = {0x01, 0x00};
+
+    private PingEngine engine;
+    private ServerSocket server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.engine = new PingEngine();
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.serverExecutor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.engine.stop();
+        this.server.close();
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testSplitResponse() throws Exception {
+        final byte[] frame = StatusResponseDecoderTest.frame("{\"description\":\"motd\",\"players\":{\"max\":100,\"online\":57}}");
+        this.serve(out -> {
+            for (final byte b : frame) {
+                out.write(b);
+                out.flush();
+                Thread.sleep(1L);
+            }
+        });
+        assertEquals(57, this.ping(2000).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMalformedResponseOnlyFailsItsExchange() throws Exception {
+        this.serve(out -> out.write(new byte[] {0x02, 0x05, 0x00}));
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> this.ping(2000).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, exception.getCause());
+
+        this.serve(out -> out.write(StatusResponseDecoderTest.frame("{\"players\":{\"online\":3}}")));
+        assertEquals(3, this.ping(2000).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUnresolvedAddressOnlyFailsItsExchange() throws Exception {
+        final CompletableFuture<Integer> unresolved = this.engine.ping(InetSocketAddress.createUnresolved("unresolved.invalid", 25565),
+                REQUEST, 2000, new StatusResponseDecoder(1024));
+        assertThrows(ExecutionException.class, () -> unresolved.get(5, TimeUnit.SECONDS));
+
+        this.serve(out -> out.write(StatusResponseDecoderTest.frame("{\"players\":{\"online\":4}}")));
+        assertEquals(4, this.ping(2000).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        this.serve(out -> Thread.sleep(2000L));
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> this.ping(100).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SocketTimeoutException.class, exception.getCause());
+    }
+
+    @Test
+    void testCallbackExceptionDoesNotStopEngine() throws Exception {
+        this.serve(out -> out.write(StatusResponseDecoderTest.frame("{\"players\":{\"online\":1}}")));
+        final CompletableFuture<Integer> failing = this.ping(2000).thenApply(online -> {
+            throw new IllegalStateException("callback failure");
+        });
+        assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+
+        this.serve(out -> out.write(StatusResponseDecoderTest.frame("{\"players\":{\"online\":2}}")));
+        assertEquals(2, this.ping(2000).get(5, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<Integer> ping(final int timeout) {
+        return this.engine.ping((InetSocketAddress) this.server.getLocalSocketAddress(), REQUEST, timeout, new StatusResponseDecoder(1024));
+    }
+
+    private void serve(final Response response) {
+        this.serverExecutor.execute(() -> {
+            try (final Socket socket = this.server.accept()) {
+                final InputStream in = socket.getInputStream();
+                in.readNBytes(REQUEST.length);
+                final OutputStream out = socket.getOutputStream();
+                response.write(out);
+                out.flush();
+            } catch (final Exception ignored) {
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Response {
+
+        void write(final OutputStream out) throws Exception;
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.ping;
+
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusResponseDecoderTest {
+
+    private static final int MAX_JSON_LENGTH = 32767 * 3;
+
+    @Test
+    void testSimpleResponse() throws IOException {
+        assertEquals(42, decode("{\"players\":{\"max\":100,\"online\":42}}"));
+        assertEquals(42, decode("{ \"players\" : { \"online\" : 42 , \"max\" : 100 } }"));
+        assertEquals(0, decode("{\"players\":{\"online\":0}}"));
+    }
+
+    @Test
+    void testSplitFrame() throws IOException {
+        // A long description makes the frame and JSON lengths multi-byte VarInts, which are split too
+        final byte[] frame = frame("{\"description\":\"" + "a".repeat(300) + "\",\"players\":{\"max\":100,\"online\":1234}}");
+        for (final int chunk : new int[] {1, 2, 3, 7, 64}) {
+            final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_LENGTH);
+            for (int offset = 0; offset < frame.length && !decoder.isDone(); offset += chunk) {
+                decoder.feed(frame, offset, Math.min(chunk, frame.length - offset));
+            }
+            assertTrue(decoder.isDone(), "chunk=" + chunk);
+            assertEquals(1234, decoder.getOnline(), "chunk=" + chunk);
+        }
+    }
+
+    @Test
+    void testByteBufferFeed() throws IOException {
+        final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_LENGTH);
+        final ByteBuffer buffer = ByteBuffer.wrap(frame("{\"players\":{\"online\":5}}"));
+        buffer.limit(3);
+        decoder.feed(buffer);
+        assertFalse(decoder.isDone());
+        buffer.limit(buffer.capacity());
+        decoder.feed(buffer);
+        assertTrue(decoder.isDone());
+        assertEquals(5, decoder.getOnline());
+    }
+
+    @Test
+    void testEscapedQuotes() throws IOException {
+        assertEquals(7, decode("{\"description\":\"say \\\"players\\\": {\\\"online\\\": 5}\",\"players\":{\"online\":7}}"));
+        assertEquals(7, decode("{\"description\":\"ends with a backslash \\\\\",\"players\":{\"online\":7}}"));
+        // Escaped keys are never matched
+        assertEquals(4, decode("{\"players\":{\"onl\\u0069ne\":3,\"online\":4}}"));
+    }
+
+    @Test
+    void testNestedOnlineKeys() throws IOException {
+        assertEquals(6, decode("{\"online\":5,\"players\":{\"online\":6}}"));
+        assertEquals(9, decode("{\"description\":{\"extra\":[{\"online\":1}]},"
+                + "\"players\":{\"sample\":[{\"online\":2,\"name\":\"x\"}],\"online\":9}}"));
+        assertEquals(8, decode("{\"forgeData\":{\"players\":{\"online\":3}},\"players\":{\"online\":8}}"));
+        assertEquals(8, decode("{\"modinfo\":[\"players\",{\"online\":3}],\"players\":{\"online\":8}}"));
+    }
+
+    @Test
+    void testMissingOnline() throws IOException {
+        assertEquals(-1, decode("{\"players\":{\"max\":100}}"));
+        assertEquals(-1, decode("{}"));
+    }
+
+    @Test
+    void testFrameConsumed() throws IOException {
+        final byte[] frame = frame("{\"players\":{\"online\":3,\"max\":100},\"description\":\"motd\"}");
+        final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_LENGTH);
+        int offset = 0;
+        while (!decoder.isDone()) {
+            decoder.feed(frame, offset++, 1);
+        }
+        assertEquals(3, decoder.getOnline());
+        assertFalse(decoder.isFrameConsumed());
+        decoder.feed(frame, offset, frame.length - offset);
+        assertTrue(decoder.isFrameConsumed());
+    }
+
+    @Test
+    void testReset() throws IOException {
+        final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_LENGTH);
+        final byte[] first = frame("{\"players\":{\"online\":1}}");
+        decoder.feed(first, 0, first.length);
+        assertEquals(1, decoder.getOnline());
+        decoder.reset();
+        final byte[] second = frame("{\"players\":{\"online\":2}}");
+        decoder.feed(second, 0, second.length);
+        assertEquals(2, decoder.getOnline());
+    }
+
+    @Test
+    void testInvalidResponses() {
+        assertThrows(IOException.class, () -> decode("{\"players\":{\"online\":\"5\"}}"));
+        assertThrows(IOException.class, () -> decode("{\"players\":{\"online\":-5}}"));
+        assertThrows(IOException.class, () -> decode("{\"players\":{\"online\":99999999999}}"));
+        assertThrows(IOException.class, () -> feed(new StatusResponseDecoder(MAX_JSON_LENGTH), new byte[] {0x02, 0x01, 0x00}));
+        assertThrows(IOException.class, () -> feed(new StatusResponseDecoder(MAX_JSON_LENGTH), new byte[] {0x00}));
+        assertThrows(IOException.class, () -> feed(new StatusResponseDecoder(MAX_JSON_LENGTH), new byte[] {(byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80}));
+        // JSON length larger than the frame
+        assertThrows(IOException.class, () -> feed(new StatusResponseDecoder(MAX_JSON_LENGTH), new byte[] {0x03, 0x00, 0x10, '{'}));
+        assertThrows(IOException.class, () -> feed(new StatusResponseDecoder(4), frame("{\"players\":{}}")));
+    }
+
+    private static int decode(final String json) throws IOException {
+        final StatusResponseDecoder decoder = new StatusResponseDecoder(MAX_JSON_LENGTH);
+        feed(decoder, frame(json));
+        assertTrue(decoder.isDone());
+        return decoder.getOnline();
+    }
+
+    private static void feed(final StatusResponseDecoder decoder, final byte[] bytes) throws IOException {
+        decoder.feed(bytes, 0, bytes.length);
+    }
+
+    static byte[] frame(final String json) throws IOException {
+        final byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        VarInt.write(packet, 0x00); // Packet ID
+        VarInt.write(packet, data.length);
+        packet.write(data);
+        final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        VarInt.write(frame, packet.size());
+        packet.writeTo(frame);
+        return frame.toByteArray();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPointerTest {
+
+    @Test
+    void testMember() throws IOException {
+        assertEquals(42L, extract("/online", "{\"online\":42}"));
+        assertEquals(42L, extract("/players/online", " { \"players\" : { \"max\" : 100 , \"online\" : 42 } } "));
+        assertEquals(7L, extract("", "7"));
+    }
+
+    @Test
+    void testEscapes() throws IOException {
+        assertEquals(1L, extract("/a~1b", "{\"a\":0,\"a/b\":1}"));
+        assertEquals(2L, extract("/m~0n", "{\"m~n\":2,\"m/n\":3}"));
+        // ~01 is "~1", not "/"
+        assertEquals(4L, extract("/~01", "{\"/\":3,\"~1\":4}"));
+        // Escaped characters of the keys are compared unescaped
+        assertEquals(5L, extract("/a\"b", "{\"a\\\"b\":5}"));
+        assertEquals(6L, extract("/\u00e9", "{\"\\u00e9\":6}"));
+    }
+
+    @Test
+    void testArrayIndex() throws IOException {
+        assertEquals(10L, extract("/servers/0/online", "{\"servers\":[{\"online\":10},{\"online\":20}]}"));
+        assertEquals(20L, extract("/servers/1/online", "{\"servers\":[{\"online\":10},{\"online\":20}]}"));
+        assertEquals(3L, extract("/2", "[1, [2, 2], 3]"));
+        assertThrows(IOException.class, () -> extract("/servers/2/online", "{\"servers\":[{\"online\":10},{\"online\":20}]}"));
+        assertThrows(IOException.class, () -> extract("/servers/-", "{\"servers\":[1]}"));
+        assertThrows(IOException.class, () -> extract("/0", "[]"));
+    }
+
+    @Test
+    void testNestedSameKey() throws IOException {
+        assertEquals(2L, extract("/online", "{\"nested\":{\"online\":1},\"online\":2}"));
+        assertEquals(1L, extract("/nested/online", "{\"online\":2,\"nested\":{\"online\":1}}"));
+        assertEquals(3L, extract("/a/a/a", "{\"a\":{\"b\":{\"a\":9},\"a\":{\"a\":3}}}"));
+    }
+
+    @Test
+    void testStringsWithBrackets() throws IOException {
+        assertEquals(8L, extract("/online", "{\"motd\":\"}{][\",\"online\":8}"));
+        assertEquals(8L, extract("/online", "{\"skip\":{\"text\":\"} \\\" ]\"},\"online\":8}"));
+        assertEquals(8L, extract("/online", "{\"skip\":[\"]\",{\"x\":\"{\"}],\"online\":8}"));
+        assertEquals(8L, extract("/online", "{\"ends with backslash\\\\\":{\"a\":\"\\\\\"},\"online\":8}"));
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        assertEquals(12L, extract("/online", "{\"online\":12.0}"));
+        assertEquals(1200L, extract("/online", "{\"online\":1.2e3}"));
+        assertEquals(-1L, extract("/online", "{\"online\":-1}"));
+        assertThrows(IOException.class, () -> extract("/online", "{\"online\":\"12\"}"));
+        assertThrows(IOException.class, () -> extract("/online", "{\"online\":null}"));
+    }
+
+    @Test
+    void testMissingValue() {
+        assertThrows(IOException.class, () -> extract("/online", "{}"));
+        assertThrows(IOException.class, () -> extract("/online", "{\"players\":{\"online\":1}}"));
+        assertThrows(IOException.class, () -> extract("/players/online", "{\"players\":5}"));
+        assertThrows(IOException.class, () -> extract("/online", "{\"online\":"));
+        assertThrows(IOException.class, () -> extract("/online", "{\"other\":\"unterminated"));
+    }
+
+    @Test
+    void testInvalidPointer() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPointer.parse("online"));
+    }
+
+    private static long extract(final String pointer, final String json) throws IOException {
+        return JsonPointer.parse(pointer).extractLong(json);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.config.DummyConfiguration;
+import be.yvanmazy.proxyonlinelinker.common.redis.DefaultJedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.JedisProvider;
+import be.yvanmazy.proxyonlinelinker.common.redis.RedisMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// Uses a real Redis when -Dproxyonlinelinker.benchmark.redis=host:port is set, the in-process fake otherwise
+final class BenchmarkRedis implements Closeable {
+
+    private static final String ADDRESS_PROPERTY = "proxyonlinelinker.benchmark.redis";
+
+    private final FakeRedisServer fakeServer;
+    private final JedisProvider jedisProvider;
+
+    BenchmarkRedis() throws IOException {
+        final String address = System.getProperty(ADDRESS_PROPERTY);
+        final String host;
+        final int port;
+        if (address == null || address.isBlank()) {
+            this.fakeServer = new FakeRedisServer();
+            host = "127.0.0.1";
+            port = this.fakeServer.port();
+        } else {
+            this.fakeServer = null;
+            final int separator = address.lastIndexOf(':');
+            host = address.substring(0, separator);
+            port = Integer.parseInt(address.substring(separator + 1));
+        }
+        this.jedisProvider = new DefaultJedisProvider(buildConfiguration(host, port));
+    }
+
+    JedisProvider jedisProvider() {
+        return this.jedisProvider;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.jedisProvider.stop();
+        if (this.fakeServer != null) {
+            this.fakeServer.close();
+        }
+    }
+
+    private static DummyConfiguration.Redis buildConfiguration(final String host, final int port) {
+        final DummyConfiguration.Redis.Standalone standalone = new DummyConfiguration.Redis.Standalone();
+        standalone.setHost(host);
+        standalone.setPort(port);
+
+        final DummyConfiguration.Redis.Sentinel sentinel = new DummyConfiguration.Redis.Sentinel();
+        sentinel.setMasterName("mymaster");
+        sentinel.setSentinels(List.of());
+
+        final DummyConfiguration.Redis.Cluster cluster = new DummyConfiguration.Redis.Cluster();
+        cluster.setClusterNodes(List.of());
+
+        final DummyConfiguration.Redis redis = new DummyConfiguration.Redis();
+        redis.setMode(RedisMode.STANDALONE);
+        redis.setUsername("");
+        redis.setPassword("");
+        redis.setTimeoutMillis(2000);
+        redis.setMaxAttempts(3);
+        redis.setMaxTotalRetriesDuration(15000L);
+        redis.setStandalone(standalone);
+        redis.setSentinel(sentinel);
+        redis.setCluster(cluster);
+        return redis;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Minimal in-process RESP2 server implementing the hash commands used by ProxyOnlineLinker.
+// Scripts are not interpreted, the ones shipped by ProxyOnlineLinker are emulated in Java.
+final class FakeRedisServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Map<String, String>> hashes = new ConcurrentHashMap<>();
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+
+    FakeRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 512);
+        final Thread thread = new Thread(this::acceptLoop, "Fake Redis Server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int port() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                final Socket socket = this.serverSocket.accept();
+                final Thread thread = new Thread(() -> this.handle(socket), "Fake Redis Connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (final IOException ignored) {
+                return;
+            }
+        }
+    }
+
+    private void handle(final Socket socket) {
+        try (socket) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            List<List<String>> transaction = null;
+            while (true) {
+                final List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                final String name = command.get(0).toUpperCase(Locale.ROOT);
+                if (name.equals("MULTI")) {
+                    transaction = new ArrayList<>();
+                    out.write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+                } else if (name.equals("EXEC") && transaction != null) {
+                    writeArrayHeader(out, transaction.size());
+                    for (final List<String> queued : transaction) {
+                        this.execute(queued, out);
+                    }
+                    transaction = null;
+                } else if (transaction != null) {
+                    transaction.add(command);
+                    out.write("+QUEUED\r\n".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    this.execute(command, out);
+                }
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private void execute(final List<String> command, final OutputStream out) throws IOException {
+        final String name = command.get(0).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING" -> out.write("+PONG\r\n".getBytes(StandardCharsets.UTF_8));
+            case "HSET" -> {
+                final Map<String, String> hash = this.hashes.computeIfAbsent(command.get(1), key -> new ConcurrentHashMap<>());
+                int added = 0;
+                for (int i = 2; i + 1 < command.size(); i += 2) {
+                    if (hash.put(command.get(i), command.get(i + 1)) == null) {
+                        added++;
+                    }
+                }
+                writeInteger(out, added);
+            }
+            case "HDEL" -> {
+                final Map<String, String> hash = this.hashes.getOrDefault(command.get(1), Map.of());
+                int removed = 0;
+                for (int i = 2; i < command.size(); i++) {
+                    if (hash.remove(command.get(i)) != null) {
+                        removed++;
+                    }
+                }
+                writeInteger(out, removed);
+            }
+            case "HVALS" -> {
+                final Collection<String> values = this.hashes.getOrDefault(command.get(1), Map.of()).values();
+                writeArrayHeader(out, values.size());
+                for (final String value : values) {
+                    writeBulk(out, value);
+                }
+            }
+            case "HGETALL" -> {
+                final Map<String, String> hash = this.hashes.getOrDefault(command.get(1), Map.of());
+                writeArrayHeader(out, hash.size() * 2);
+                for (final Map.Entry<String, String> entry : hash.entrySet()) {
+                    writeBulk(out, entry.getKey());
+                    writeBulk(out, entry.getValue());
+                }
+            }
+            case "HEXPIRE" -> {
+                // HEXPIRE key seconds FIELDS count field...: expiration is not simulated
+                final int count = Integer.parseInt(command.get(4));
+                writeArrayHeader(out, count);
+                for (int i = 0; i < count; i++) {
+                    writeInteger(out, 1);
+                }
+            }
+            case "DEL" -> writeInteger(out, this.hashes.remove(command.get(1)) != null ? 1 : 0);
+            case "SCRIPT" -> {
+                final String script = command.get(2);
+                final String sha = sha1(script);
+                this.scripts.put(sha, script);
+                writeBulk(out, sha);
+            }
+            case "EVALSHA" -> {
+                final String script = this.scripts.get(command.get(1));
+                if (script == null) {
+                    out.write("-NOSCRIPT No matching script. Please use EVAL.\r\n".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                final int keyCount = Integer.parseInt(command.get(2));
+                final List<String> keys = command.subList(3, 3 + keyCount);
+                final List<String> args = command.subList(3 + keyCount, command.size());
+                this.evalScript(script, keys, args, out);
+            }
+            case "CLIENT", "SELECT", "AUTH" -> out.write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+            default -> out.write(("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void evalScript(final String script, final List<String> keys, final List<String> args, final OutputStream out) throws IOException {
+        if (script.contains("'HSET'")) {
+            this.hashes.computeIfAbsent(keys.get(0), key -> new ConcurrentHashMap<>()).put(args.get(0), args.get(1));
+            writeInteger(out, 1);
+        } else if (script.contains("'HVALS'")) {
+            long total = 0L;
+            for (final String value : this.hashes.getOrDefault(keys.get(0), Map.of()).values()) {
+                total += Long.parseLong(value);
+            }
+            writeInteger(out, total);
+        } else {
+            out.write("-ERR script not emulated\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String sha1(final String script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static List<String> readCommand(final DataInputStream in) throws IOException {
+        final String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.charAt(0) != '*') {
+            throw new IOException("Inline commands are not supported");
+        }
+        final int count = Integer.parseInt(header.substring(1));
+        final List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String bulkHeader = readLine(in);
+            if (bulkHeader == null || bulkHeader.charAt(0) != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            final byte[] data = new byte[Integer.parseInt(bulkHeader.substring(1))];
+            in.readFully(data);
+            in.readFully(new byte[2]); // CRLF
+            command.add(new String(data, StandardCharsets.UTF_8));
+        }
+        return command;
+    }
+
+    private static String readLine(final DataInputStream in) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        int read;
+        while ((read = in.read()) != -1) {
+            if (read == '\r') {
+                in.read(); // LF
+                return builder.toString();
+            }
+            builder.append((char) read);
+        }
+        return null;
+    }
+
+    private static void writeArrayHeader(final OutputStream out, final int size) throws IOException {
+        out.write(("*" + size + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeInteger(final OutputStream out, final long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBulk(final OutputStream out, final String value) throws IOException {
+        final byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.write(("$" + data.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(data);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
\ No newline at end of file
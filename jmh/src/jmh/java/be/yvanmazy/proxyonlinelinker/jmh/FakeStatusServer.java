@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.util.VarInt;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+// Minimal in-process Minecraft server that only answers status requests
+final class FakeStatusServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final byte[] responseFrame;
+
+    FakeStatusServer(final String json) throws IOException {
+        this.serverSocket = new ServerSocket(0, 512);
+        this.responseFrame = buildResponseFrame(json);
+        final Thread thread = new Thread(this::acceptLoop, "Fake Status Server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int port() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                final Socket socket = this.serverSocket.accept();
+                final Thread thread = new Thread(() -> this.handle(socket), "Fake Status Connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (final IOException ignored) {
+                return;
+            }
+        }
+    }
+
+    private void handle(final Socket socket) {
+        try (socket) {
+            final InputStream in = new BufferedInputStream(socket.getInputStream());
+            final OutputStream out = socket.getOutputStream();
+            in.readNBytes(VarInt.read(in)); // Handshake
+            // Status requests are answered until the client closes the connection
+            while (true) {
+                final byte[] packet = in.readNBytes(VarInt.read(in));
+                if (packet.length == 0) {
+                    return;
+                }
+                if (packet[0] == 0x00) {
+                    out.write(this.responseFrame);
+                } else {
+                    final ByteArrayOutputStream pong = new ByteArrayOutputStream();
+                    VarInt.write(pong, packet.length);
+                    pong.write(packet);
+                    out.write(pong.toByteArray());
+                }
+                out.flush();
+            }
+        } catch (final IOException ignored) {
+        }
+    }
+
+    static String buildStatusJson(final int online, final int faviconLength) {
+        return "{\"version\":{\"name\":\"1.21.5\",\"protocol\":770}," +
+                "\"description\":{\"text\":\"A Minecraft Server\",\"extra\":[{\"text\":\"\\\"online\\\": 0\"}]}," +
+                "\"players\":{\"max\":1000,\"online\":" + online + ",\"sample\":[{\"name\":\"Player\",\"id\":\"00000000-0000-0000-0000-000000000000\"}]}," +
+                "\"favicon\":\"data:image/png;base64," + "A".repeat(faviconLength) + "\"}";
+    }
+
+    private static byte[] buildResponseFrame(final String json) throws IOException {
+        final byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        VarInt.write(payload, 0x00);
+        VarInt.write(payload, jsonBytes.length);
+        payload.write(jsonBytes);
+        final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        VarInt.write(frame, payload.size());
+        payload.writeTo(frame);
+        return frame.toByteArray();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.config.DummyConfiguration;
+import be.yvanmazy.proxyonlinelinker.common.status.DefaultOnlineManager;
+import be.yvanmazy.proxyonlinelinker.common.status.source.SelfSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OnlineManagerBenchmark {
+
+    @Param({"SCHEDULED", "SCHEDULED_WITH_INACTIVITY", "ON_DEMAND", "PARALLEL_ON_DEMAND"})
+    public String mode;
+
+    private DefaultOnlineManager onlineManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final DummyConfiguration.Status status = new DummyConfiguration.Status();
+        status.setEnabled(true);
+        status.setGlobalCacheExpiration(1500L);
+        status.setRequestOnDemand(this.mode.endsWith("ON_DEMAND"));
+        status.setParallelRequestOnDemand(this.mode.equals("PARALLEL_ON_DEMAND"));
+        status.setInactivityTimeout(this.mode.equals("SCHEDULED_WITH_INACTIVITY") ? 60_000L : 0L);
+        status.setRawSources(List.of(new SelfSource(() -> 42)));
+
+        final DummyConfiguration configuration = new DummyConfiguration();
+        configuration.setStatus(status);
+
+        this.onlineManager = new DefaultOnlineManager();
+        this.onlineManager.start(configuration);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.onlineManager.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int getOnlineCount1Thread() {
+        return this.onlineManager.getOnlineCount();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getOnlineCount4Threads() {
+        return this.onlineManager.getOnlineCount();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int getOnlineCount16Threads() {
+        return this.onlineManager.getOnlineCount();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int getOnlineCount64Threads() {
+        return this.onlineManager.getOnlineCount();
+    }
+
+}
\ No newline at end of file
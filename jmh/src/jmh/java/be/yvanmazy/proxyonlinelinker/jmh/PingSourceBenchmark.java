@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.ProxyOnlineLinker;
+import be.yvanmazy.proxyonlinelinker.common.status.source.PingSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PingSourceBenchmark {
+
+    @Param({"BLOCKING", "KEEP_ALIVE", "NON_BLOCKING"})
+    public String mode;
+
+    @Param({"0", "32768"})
+    public int faviconLength;
+
+    private FakeStatusServer server;
+    private ProxyOnlineLinker proxyOnlineLinker;
+    private PingSource source;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.server = new FakeStatusServer(FakeStatusServer.buildStatusJson(42, this.faviconLength));
+        this.proxyOnlineLinker = new ProxyOnlineLinker("Benchmark", () -> 0, (onlineManager, strategy) -> {
+        });
+        final boolean nonBlocking = this.mode.equals("NON_BLOCKING");
+        final boolean keepAlive = this.mode.equals("KEEP_ALIVE");
+        this.source = new PingSource("127.0.0.1", this.server.port(), 5000, 759, null, nonBlocking, keepAlive);
+        this.source.init(this.proxyOnlineLinker);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.source.shutdown();
+        this.proxyOnlineLinker.onDisable();
+        this.server.close();
+    }
+
+    @Benchmark
+    public int fetch() {
+        return this.source.fetch();
+    }
+
+}
\ No newline at end of file
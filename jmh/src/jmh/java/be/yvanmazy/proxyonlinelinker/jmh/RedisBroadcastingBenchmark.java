@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.RedisBroadcasting;
+import be.yvanmazy.proxyonlinelinker.common.broadcasting.target.RedisWriteMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisBroadcastingBenchmark {
+
+    private static final String SET_KEY = "proxyonlinelinker:benchmark:broadcasting";
+
+    @Param({"0", "60"})
+    public int expireSeconds;
+
+    @Param({"TRANSACTION", "PIPELINE", "SCRIPT"})
+    public RedisWriteMode writeMode;
+
+    private BenchmarkRedis redis;
+    private RedisBroadcasting target;
+    private int online;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.redis = new BenchmarkRedis();
+        this.target = new RedisBroadcasting("benchmark", SET_KEY, this.expireSeconds, this.writeMode, this.redis.jedisProvider());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.target.shutdown();
+        this.redis.close();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        this.target.broadcast(this.online++ & 1023);
+    }
+
+}
\ No newline at end of file
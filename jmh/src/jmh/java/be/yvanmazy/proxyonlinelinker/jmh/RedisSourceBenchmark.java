@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package be.yvanmazy.proxyonlinelinker.jmh;
+
+import be.yvanmazy.proxyonlinelinker.common.redis.ShardedKeys;
+import be.yvanmazy.proxyonlinelinker.common.status.source.RedisSource;
+import org.openjdk.jmh.annotations.*;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisSourceBenchmark {
+
+    private static final String SET_KEY = "proxyonlinelinker:benchmark:source";
+
+    @Param({"10", "100", "1000", "10000"})
+    public int fields;
+
+    @Param({"false", "true"})
+    public boolean serverSideSum;
+
+    @Param({"1", "8"})
+    public int shards;
+
+    private BenchmarkRedis redis;
+    private RedisSource source;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.redis = new BenchmarkRedis();
+        final UnifiedJedis jedis = this.redis.jedisProvider().getJedis();
+        ShardedKeys.keys(SET_KEY, this.shards).forEach(jedis::del);
+        final Map<String, Map<String, String>> values = new HashMap<>();
+        for (int i = 0; i < this.fields; i++) {
+            final String serverId = "server-" + i;
+            values.computeIfAbsent(ShardedKeys.keyOf(SET_KEY, serverId, this.shards), key -> new HashMap<>()).put(serverId, String.valueOf(i % 200));
+        }
+        values.forEach(jedis::hset);
+        this.source = new RedisSource(SET_KEY, this.serverSideSum, this.shards, this.redis.jedisProvider());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ShardedKeys.keys(SET_KEY, this.shards).forEach(this.redis.jedisProvider().getJedis()::del);
+        this.redis.close();
+    }
+
+    @Benchmark
+    public int fetch() {
+        return this.source.fetch();
+    }
+
+}
\ No newline at end of file